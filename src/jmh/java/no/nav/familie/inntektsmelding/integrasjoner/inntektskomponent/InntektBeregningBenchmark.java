@@ -0,0 +1,120 @@
+package no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
+import no.nav.tjenester.aordningen.inntektsinformasjon.Aktoer;
+import no.nav.tjenester.aordningen.inntektsinformasjon.AktoerType;
+import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektIdent;
+import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektInformasjon;
+import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektMaaned;
+import no.nav.tjenester.aordningen.inntektsinformasjon.inntekt.Inntekt;
+import no.nav.tjenester.aordningen.inntektsinformasjon.inntekt.InntektType;
+import no.nav.tjenester.aordningen.inntektsinformasjon.response.HentInntektListeBolkResponse;
+
+/**
+ * Måler beregningen av snittlønn fra et svar fra inntektskomponenten, uten kall og cache.
+ * Kjøres med: mvn -Pjmh test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InntektBeregningBenchmark {
+
+    private static final String ORGNR = "111111111";
+    private static final AktørIdEntitet AKTØR_ID = new AktørIdEntitet("9999999999999");
+    private static final LocalDate SKJÆRINGSTIDSPUNKT = LocalDate.of(2024, 10, 15);
+    private static final LocalDate DAGENS_DATO = LocalDate.of(2024, 9, 3);
+    private static final int ANTALL_MÅNEDER = 5;
+    private static final YearMonth FOM = YearMonth.from(SKJÆRINGSTIDSPUNKT.minusMonths(ANTALL_MÅNEDER));
+
+    /**
+     * REALISTISK: noen få linjer per måned fra et par arbeidsgivere.
+     * PATOLOGISK: ansatt i stort konsern, med tusenvis av linjer fra andre virksomheter og av andre typer.
+     * DUPLISERTE_MÅNEDER: samme utbetalingsmåned rapportert i flere ArbeidsInntektMaaned.
+     */
+    @Param({"REALISTISK", "PATOLOGISK", "DUPLISERTE_MÅNEDER"})
+    private String respons;
+
+    private HentInntektListeBolkResponse svar;
+
+    @Setup
+    public void setup() {
+        svar = switch (respons) {
+            case "REALISTISK" -> lagSvar(4, 2, 2, false);
+            case "PATOLOGISK" -> lagSvar(4, 2_000, 2_000, false);
+            case "DUPLISERTE_MÅNEDER" -> lagSvar(4, 2, 2, true);
+            default -> throw new IllegalArgumentException("Ukjent respons " + respons);
+        };
+    }
+
+    @Benchmark
+    public Inntektsopplysninger beregnInntekt() {
+        return InntektTjeneste.beregnInntekt(svar, AKTØR_ID, ORGNR, FOM, ANTALL_MÅNEDER, DAGENS_DATO);
+    }
+
+    private static HentInntektListeBolkResponse lagSvar(int antallLønnslinjer, int antallAndreVirksomheter, int antallAndreTyper, boolean dupliserMåneder) {
+        var måneder = new ArrayList<ArbeidsInntektMaaned>();
+        for (int m = 0; m < ANTALL_MÅNEDER - 1; m++) {
+            var årMåned = FOM.plusMonths(m);
+            måneder.add(lagMåned(årMåned, antallLønnslinjer, antallAndreVirksomheter, antallAndreTyper));
+            if (dupliserMåneder) {
+                måneder.add(lagMåned(årMåned, antallLønnslinjer, antallAndreVirksomheter, antallAndreTyper));
+            }
+        }
+        var ident = new ArbeidsInntektIdent();
+        ident.setIdent(new Aktoer(AKTØR_ID.getAktørId(), AktoerType.AKTOER_ID));
+        ident.setArbeidsInntektMaaned(måneder);
+        var svar = new HentInntektListeBolkResponse();
+        svar.setArbeidsInntektIdentListe(List.of(ident));
+        return svar;
+    }
+
+    private static ArbeidsInntektMaaned lagMåned(YearMonth årMåned, int antallLønnslinjer, int antallAndreVirksomheter, int antallAndreTyper) {
+        var inntekter = new ArrayList<Inntekt>();
+        for (int i = 0; i < antallAndreVirksomheter; i++) {
+            inntekter.add(lagInntekt(årMåned, "9" + String.format("%08d", i), InntektType.LOENNSINNTEKT));
+        }
+        for (int i = 0; i < antallAndreTyper; i++) {
+            inntekter.add(lagInntekt(årMåned, ORGNR, InntektType.YTELSE_FRA_OFFENTLIGE));
+        }
+        for (int i = 0; i < antallLønnslinjer; i++) {
+            inntekter.add(lagInntekt(årMåned, ORGNR, InntektType.LOENNSINNTEKT));
+        }
+        var informasjon = new ArbeidsInntektInformasjon();
+        informasjon.setInntektListe(inntekter);
+        var måned = new ArbeidsInntektMaaned();
+        måned.setAarMaaned(årMåned);
+        måned.setArbeidsInntektInformasjon(informasjon);
+        return måned;
+    }
+
+    private static Inntekt lagInntekt(YearMonth årMåned, String orgnr, InntektType inntektType) {
+        var inntekt = new Inntekt();
+        inntekt.setVirksomhet(new Aktoer(orgnr, AktoerType.ORGANISASJON));
+        inntekt.setInntektType(inntektType);
+        inntekt.setUtbetaltIMaaned(årMåned);
+        inntekt.setBeloep(BigDecimal.valueOf(6_250));
+        return inntekt;
+    }
+}
@@ -0,0 +1,32 @@
+package no.nav.familie.inntektsmelding.forespørsel.modell;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import no.nav.familie.inntektsmelding.koder.ForespørselStatus;
+import no.nav.familie.inntektsmelding.koder.Ytelsetype;
+
+/**
+ * Lesevisning av en forespørsel for listinger. Hentes som projeksjon av kun de kolonnene som trengs, og knyttes aldri til persistence-konteksten.
+ */
+public record ForespørselOversikt(UUID uuid,
+                                  String organisasjonsnummer,
+                                  LocalDate skjæringstidspunkt,
+                                  String aktørId,
+                                  Ytelsetype ytelseType,
+                                  ForespørselStatus status,
+                                  LocalDate førsteUttaksdato,
+                                  LocalDateTime opprettetTidspunkt,
+                                  Long id) {
+
+    /**
+     * Posisjonen til en forespørsel i listingen, som sorteres på opprettet tidspunkt og deretter id.
+     */
+    public record Sidenøkkel(LocalDateTime opprettetTidspunkt, long id) {
+    }
+
+    public Sidenøkkel sidenøkkel() {
+        return new Sidenøkkel(opprettetTidspunkt, id);
+    }
+}
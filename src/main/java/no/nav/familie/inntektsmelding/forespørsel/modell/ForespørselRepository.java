@@ -1,6 +1,7 @@
 package no.nav.familie.inntektsmelding.forespørsel.modell;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +23,9 @@ public class ForespørselRepository {
 
     private EntityManager entityManager;
     private static final Logger LOG = LoggerFactory.getLogger(ForespørselRepository.class);
+    private static final String OVERSIKT_FOR_SAK = "select new no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselOversikt("
+        + "f.uuid, f.organisasjonsnummer, f.skjæringstidspunkt, f.aktørId.aktørId, f.ytelseType, f.status, f.førsteUttaksdato, f.opprettetTidspunkt, f.id) "
+        + "from ForespørselEntitet f where f.fagsystemSaksnummer = :saksnr";
 
     public ForespørselRepository() {
     }
@@ -46,24 +50,32 @@ public class ForespørselRepository {
         return forespørselEntitet.getUuid();
     }
 
-    public void oppdaterOppgaveId(UUID forespørselUUID, String oppgaveId) {
-        var forespørselOpt = hentForespørsel(forespørselUUID);
-        if (forespørselOpt.isPresent()) {
-            var forespørsel = forespørselOpt.get();
-            forespørsel.setOppgaveId(oppgaveId);
-            entityManager.persist(forespørsel);
-            entityManager.flush();
-        }
+    public int oppdaterOppgaveId(UUID forespørselUUID, String oppgaveId) {
+        var antall = entityManager.createQuery("update ForespørselEntitet set oppgaveId = :oppgaveId, endretTidspunkt = :endret where uuid = :foresporselUUID")
+            .setParameter("oppgaveId", oppgaveId)
+            .setParameter("endret", LocalDateTime.now())
+            .setParameter("foresporselUUID", forespørselUUID)
+            .executeUpdate();
+        return antall;
     }
 
-    public void oppdaterArbeidsgiverNotifikasjonSakId(UUID forespørselUUID, String arbeidsgiverNotifikasjonSakId) {
-        var forespørselOpt = hentForespørsel(forespørselUUID);
-        if (forespørselOpt.isPresent()) {
-            var forespørsel = forespørselOpt.get();
-            forespørsel.setArbeidsgiverNotifikasjonSakId(arbeidsgiverNotifikasjonSakId);
-            entityManager.persist(forespørsel);
-            entityManager.flush();
-        }
+    public int oppdaterArbeidsgiverNotifikasjonSakId(UUID forespørselUUID, String arbeidsgiverNotifikasjonSakId) {
+        var antall = entityManager.createQuery("update ForespørselEntitet set sakId = :sakId, endretTidspunkt = :endret where uuid = :foresporselUUID")
+            .setParameter("sakId", arbeidsgiverNotifikasjonSakId)
+            .setParameter("endret", LocalDateTime.now())
+            .setParameter("foresporselUUID", forespørselUUID)
+            .executeUpdate();
+        return antall;
+    }
+
+    /**
+     * Henter kun organisasjonsnummeret til forespørselen, uten å laste hele entiteten.
+     */
+    public Optional<String> hentOrganisasjonsnummer(UUID uuid) {
+        return entityManager.createQuery("select organisasjonsnummer from ForespørselEntitet where uuid = :foresporselUUID", String.class)
+            .setParameter("foresporselUUID", uuid)
+            .getResultStream()
+            .findFirst();
     }
 
     public Optional<ForespørselEntitet> hentForespørsel(UUID uuid) {
@@ -80,30 +92,31 @@ public class ForespørselRepository {
         }
     }
 
-    public void ferdigstillForespørsel(String arbeidsgiverNotifikasjonSakId) {
-        var query = entityManager.createQuery("FROM ForespørselEntitet where sakId = :SAK_ID", ForespørselEntitet.class)
-            .setParameter("SAK_ID", arbeidsgiverNotifikasjonSakId);
-        var resultList = query.getResultList();
-
-        resultList.forEach(f -> {
-            f.setStatus(ForespørselStatus.FERDIG);
-            entityManager.persist(f);
-        });
-        entityManager.flush();
+    public int ferdigstillForespørsel(String arbeidsgiverNotifikasjonSakId) {
+        return oppdaterStatus(arbeidsgiverNotifikasjonSakId, ForespørselStatus.FERDIG);
     }
 
-    public void settForespørselTilUtgått(String arbeidsgiverNotifikasjonSakId) {
-        var query = entityManager.createQuery("FROM ForespørselEntitet where sakId = :SAK_ID", ForespørselEntitet.class)
-            .setParameter("SAK_ID", arbeidsgiverNotifikasjonSakId);
-        var resultList = query.getResultList();
+    public int settForespørselTilUtgått(String arbeidsgiverNotifikasjonSakId) {
+        return oppdaterStatus(arbeidsgiverNotifikasjonSakId, ForespørselStatus.UTGÅTT);
+    }
 
-        resultList.forEach(f -> {
-            f.setStatus(ForespørselStatus.UTGÅTT);
-            entityManager.persist(f);
-        });
-        entityManager.flush();
+    private int oppdaterStatus(String arbeidsgiverNotifikasjonSakId, ForespørselStatus status) {
+        var antall = entityManager.createQuery("update ForespørselEntitet set status = :status, endretTidspunkt = :endret where sakId = :SAK_ID")
+            .setParameter("status", status)
+            .setParameter("endret", LocalDateTime.now())
+            .setParameter("SAK_ID", arbeidsgiverNotifikasjonSakId)
+            .executeUpdate();
+        LOG.info("ForespørselRepository: satte {} forespørsler til {}", antall, status);
+        return antall;
     }
 
+    /**
+     * Oppdateringene over skrives rett til databasen og går utenom persistence-konteksten. En forespørsel som allerede er lastet
+     * må derfor oppfriskes for å se endringene.
+     */
+    public void oppfrisk(ForespørselEntitet forespørsel) {
+        entityManager.refresh(forespørsel);
+    }
 
     public List<ForespørselEntitet> hentForespørsler(SaksnummerDto fagsakSaksnummer) {
         var query = entityManager.createQuery("FROM ForespørselEntitet f where fagsystemSaksnummer = :saksnr", ForespørselEntitet.class)
@@ -111,6 +124,37 @@ public class ForespørselRepository {
         return query.getResultList();
     }
 
+    /**
+     * Resultatet er ikke administrerte entiteter, så det tas ikke vare på noe øyeblikksbilde for endringssjekk ved flush.
+     */
+    public List<ForespørselOversikt> hentForespørselOversikt(SaksnummerDto fagsakSaksnummer) {
+        return entityManager.createQuery(OVERSIKT_FOR_SAK + " order by f.opprettetTidspunkt, f.id", ForespørselOversikt.class)
+            .setParameter("saksnr", fagsakSaksnummer.saksnr())
+            .getResultList();
+    }
+
+    /**
+     * Blar gjennom forespørslene på saken, sortert på opprettet tidspunkt og id. Neste side hentes ved å oppgi nøkkelen til siste
+     * forespørsel på forrige side, slik at databasen fortsetter rett i indeksen i stedet for å lese seg forbi alle tidligere sider.
+     */
+    public List<ForespørselOversikt> hentForespørselOversikt(SaksnummerDto fagsakSaksnummer, ForespørselOversikt.Sidenøkkel etter, int antall) {
+        if (etter == null) {
+            return entityManager.createQuery(OVERSIKT_FOR_SAK + " order by f.opprettetTidspunkt, f.id", ForespørselOversikt.class)
+                .setParameter("saksnr", fagsakSaksnummer.saksnr())
+                .setMaxResults(antall)
+                .getResultList();
+        }
+        return entityManager.createQuery(OVERSIKT_FOR_SAK
+                    + " and (f.opprettetTidspunkt, f.id) > (:opprettet, :id)"
+                    + " order by f.opprettetTidspunkt, f.id",
+                ForespørselOversikt.class)
+            .setParameter("saksnr", fagsakSaksnummer.saksnr())
+            .setParameter("opprettet", etter.opprettetTidspunkt())
+            .setParameter("id", etter.id())
+            .setMaxResults(antall)
+            .getResultList();
+    }
+
     public List<ForespørselEntitet> finnÅpenForespørsel(SaksnummerDto fagsystemSaksnummer) {
         var query = entityManager.createQuery("FROM ForespørselEntitet where status=:status " + "and fagsystemSaksnummer=:saksnummer",
                 ForespørselEntitet.class)
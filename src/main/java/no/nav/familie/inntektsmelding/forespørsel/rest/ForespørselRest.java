@@ -1,17 +1,26 @@
 package no.nav.familie.inntektsmelding.forespørsel.rest;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
@@ -24,7 +33,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselEntitet;
+import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselOversikt;
 import no.nav.familie.inntektsmelding.forespørsel.tjenester.ForespørselBehandlingTjeneste;
 import no.nav.familie.inntektsmelding.koder.ForespørselStatus;
 import no.nav.familie.inntektsmelding.server.auth.api.AutentisertMedAzure;
@@ -46,6 +55,9 @@ import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
 public class ForespørselRest {
     private static final Logger LOG = LoggerFactory.getLogger(ForespørselRest.class);
     public static final String BASE_PATH = "/foresporsel";
+    static final int MAKS_ANTALL_PER_SIDE = 500;
+    private static final String SIDENØKKEL_REGEXP = "^[A-Za-z0-9_-]{1,100}$";
+    private static final String SIDENØKKEL_SKILLETEGN = ";";
 
     private ForespørselBehandlingTjeneste forespørselBehandlingTjeneste;
     private Tilgang tilgang;
@@ -138,19 +150,72 @@ public class ForespørselRest {
 
         sjekkErSystemkall();
 
-        var forespørsler = forespørselBehandlingTjeneste.hentForespørslerForFagsak(new SaksnummerDto(saksnummer), null, null);
+        var forespørsler = forespørselBehandlingTjeneste.hentForespørselOversiktForFagsak(new SaksnummerDto(saksnummer));
         var forespørselDtos = forespørsler.stream().map(ForespørselRest::mapTilDto).toList();
 
         return Response.ok(forespørselDtos).build();
     }
 
+    /**
+     * Som {@link #hentForespørslerForSak}, men leverer én side av gangen slik at svaret har fast størrelse uansett hvor mange
+     * forespørsler saken har. Neste side hentes ved å sende med nøkkelen fra forrige svar, som er tom når det ikke er flere.
+     */
+    @GET
+    @Path("/sak/side")
+    @Tilgangskontrollert
+    public Response hentSideMedForespørslerForSak(@Valid @NotNull @Pattern(regexp = SaksnummerDto.REGEXP) @Size(max = 19) @QueryParam("saksnummer") String saksnummer,
+                                                  @Valid @Pattern(regexp = SIDENØKKEL_REGEXP) @QueryParam("etter") String etter,
+                                                  @Valid @Min(1) @Max(MAKS_ANTALL_PER_SIDE) @DefaultValue("100") @QueryParam("antall") int antall) {
+        LOG.info("Henter side med forespørsler for fagsakSaksnummer {}", saksnummer);
+
+        sjekkErSystemkall();
+
+        ForespørselOversikt.Sidenøkkel sidenøkkel = null;
+        if (etter != null) {
+            var tolket = fraSidenøkkel(etter);
+            if (tolket.isEmpty()) {
+                return Response.status(Response.Status.BAD_REQUEST).build();
+            }
+            sidenøkkel = tolket.get();
+        }
+
+        // Henter én ekstra for å vite om det finnes en neste side
+        var forespørsler = forespørselBehandlingTjeneste.hentForespørselOversiktForFagsak(new SaksnummerDto(saksnummer), sidenøkkel, antall + 1);
+        var side = forespørsler.stream().limit(antall).map(ForespørselRest::mapTilDto).toList();
+        var neste = forespørsler.size() > antall ? tilSidenøkkel(forespørsler.get(antall - 1).sidenøkkel()) : null;
+
+        return Response.ok(new ForespørselSideDto(side, neste)).build();
+    }
+
+    record ForespørselSideDto(List<ForespørselDto> forespørsler, String neste) {
+    }
+
+    static String tilSidenøkkel(ForespørselOversikt.Sidenøkkel sidenøkkel) {
+        var tekst = sidenøkkel.opprettetTidspunkt() + SIDENØKKEL_SKILLETEGN + sidenøkkel.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(tekst.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Optional<ForespørselOversikt.Sidenøkkel> fraSidenøkkel(String sidenøkkel) {
+        try {
+            var tekst = new String(Base64.getUrlDecoder().decode(sidenøkkel), StandardCharsets.UTF_8);
+            var deler = tekst.split(SIDENØKKEL_SKILLETEGN, 2);
+            if (deler.length != 2) {
+                return Optional.empty();
+            }
+            return Optional.of(new ForespørselOversikt.Sidenøkkel(LocalDateTime.parse(deler[0]), Long.parseLong(deler[1])));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            LOG.warn("Ugyldig sidenøkkel {}", sidenøkkel);
+            return Optional.empty();
+        }
+    }
+
     record ForespørselDto(UUID uuid, OrganisasjonsnummerDto organisasjonsnummer, LocalDate skjæringstidspunkt, AktørIdDto brukerAktørId,
                           YtelseTypeDto ytelseType, ForespørselStatus status) {
     }
 
-    static ForespørselDto mapTilDto(ForespørselEntitet entitet) {
-        return new ForespørselDto(entitet.getUuid(), new OrganisasjonsnummerDto(entitet.getOrganisasjonsnummer()), entitet.getSkjæringstidspunkt(),
-            new AktørIdDto(entitet.getAktørId().getAktørId()), KodeverkMapper.mapYtelsetype(entitet.getYtelseType()), entitet.getStatus());
+    static ForespørselDto mapTilDto(ForespørselOversikt forespørsel) {
+        return new ForespørselDto(forespørsel.uuid(), new OrganisasjonsnummerDto(forespørsel.organisasjonsnummer()), forespørsel.skjæringstidspunkt(),
+            new AktørIdDto(forespørsel.aktørId()), KodeverkMapper.mapYtelsetype(forespørsel.ytelseType()), forespørsel.status());
     }
 
     private void sjekkErSystemkall() {
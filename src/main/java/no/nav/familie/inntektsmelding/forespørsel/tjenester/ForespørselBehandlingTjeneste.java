@@ -1,11 +1,13 @@
 package no.nav.familie.inntektsmelding.forespørsel.tjenester;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselEntitet;
+import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselOversikt;
 import no.nav.familie.inntektsmelding.forespørsel.rest.OppdaterForespørselDto;
 import no.nav.familie.inntektsmelding.forvaltning.rest.InntektsmeldingForespørselDto;
 import no.nav.familie.inntektsmelding.koder.Ytelsetype;
@@ -21,6 +23,8 @@ public interface ForespørselBehandlingTjeneste {
                                               LocalDate startdato,
                                               LukkeÅrsak årsak);
 
+    void ferdigstillArbeidsgiverNotifikasjon(ForespørselEntitet forespørsel, LukkeÅrsak årsak, OffsetDateTime ferdigstiltTidspunkt);
+
     Optional<ForespørselEntitet> hentForespørsel(UUID forespørselUUID);
 
     List<ForespørselEntitet> finnForespørsler(AktørIdEntitet aktørId, Ytelsetype ytelsetype, String orgnr);
@@ -29,6 +33,10 @@ public interface ForespørselBehandlingTjeneste {
                                                        OrganisasjonsnummerDto orgnummerDto,
                                                        LocalDate skjæringstidspunkt);
 
+    List<ForespørselOversikt> hentForespørselOversiktForFagsak(SaksnummerDto fagsakSaksnummer);
+
+    List<ForespørselOversikt> hentForespørselOversiktForFagsak(SaksnummerDto fagsakSaksnummer, ForespørselOversikt.Sidenøkkel etter, int antall);
+
     void oppdaterForespørsler(Ytelsetype ytelsetype,
                               AktørIdEntitet aktørId,
                               List<OppdaterForespørselDto> forespørsler,
@@ -16,7 +16,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselEntitet;
+import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselOversikt;
 import no.nav.familie.inntektsmelding.forespørsel.rest.OppdaterForespørselDto;
+import no.nav.familie.inntektsmelding.forespørsel.tjenester.task.FerdigstillArbeidsgiverNotifikasjonTask;
 import no.nav.familie.inntektsmelding.forespørsel.tjenester.task.GjenåpneForespørselTask;
 import no.nav.familie.inntektsmelding.forespørsel.tjenester.task.OpprettForespørselTask;
 import no.nav.familie.inntektsmelding.forespørsel.tjenester.task.SettForespørselTilUtgåttTask;
@@ -77,17 +79,25 @@ class ForespørselBehandlingTjenesteImpl implements ForespørselBehandlingTjenes
         validerStartdato(foresporsel, startdato);
 
 
-        // Arbeidsgiverinitierte forespørsler har ingen oppgave
-        foresporsel.getOppgaveId().map(oppgaveId -> arbeidsgiverNotifikasjon.oppgaveUtført(oppgaveId, OffsetDateTime.now()));
-
-        var erArbeidsgiverInitiertInntektsmelding = foresporsel.getOppgaveId().isEmpty();
-        arbeidsgiverNotifikasjon.ferdigstillSak(foresporsel.getArbeidsgiverNotifikasjonSakId(), erArbeidsgiverInitiertInntektsmelding); // Oppdaterer status i arbeidsgiver-notifikasjon
-        arbeidsgiverNotifikasjon.oppdaterSakTilleggsinformasjon(foresporsel.getArbeidsgiverNotifikasjonSakId(),
-            ForespørselTekster.lagTilleggsInformasjon(årsak, foresporsel.getSkjæringstidspunkt()));
         forespørselTjeneste.ferdigstillForespørsel(foresporsel.getArbeidsgiverNotifikasjonSakId()); // Oppdaterer status i forespørsel
+        forespørselTjeneste.oppfrisk(foresporsel);
+        // Arbeidsgiver-notifikasjon oppdateres av egen task etter commit, slik at innsendingen ikke venter på fager
+        prosessTaskTjeneste.lagre(FerdigstillArbeidsgiverNotifikasjonTask.lagTaskData(foresporsel, årsak, OffsetDateTime.now()));
         return foresporsel;
     }
 
+    @Override
+    public void ferdigstillArbeidsgiverNotifikasjon(ForespørselEntitet forespørsel, LukkeÅrsak årsak, OffsetDateTime ferdigstiltTidspunkt) {
+        // Arbeidsgiverinitierte forespørsler har ingen oppgave
+        var erArbeidsgiverInitiertInntektsmelding = forespørsel.getOppgaveId().isEmpty();
+        // Oppdaterer oppgave, status og tilleggsinformasjon i arbeidsgiver-notifikasjon i ett kall
+        arbeidsgiverNotifikasjon.ferdigstillSakOgOppgave(forespørsel.getArbeidsgiverNotifikasjonSakId(),
+            forespørsel.getOppgaveId(),
+            ferdigstiltTidspunkt,
+            erArbeidsgiverInitiertInntektsmelding,
+            ForespørselTekster.lagTilleggsInformasjon(årsak, forespørsel.getSkjæringstidspunkt()));
+    }
+
     @Override
     public Optional<ForespørselEntitet> hentForespørsel(UUID forespørselUUID) {
         return forespørselTjeneste.hentForespørsel(forespørselUUID);
@@ -108,6 +118,8 @@ class ForespørselBehandlingTjenesteImpl implements ForespørselBehandlingTjenes
 
         // Forespørsler som skal opprettes
         var skalOpprettes = utledNyeForespørsler(forespørsler, eksisterendeForespørsler);
+        // Varmer opp organisasjonscachen i bakgrunnen, uten å holde transaksjonen åpen mens Enhetsregisteret svarer
+        organisasjonTjeneste.forhåndshentOrganisasjoner(skalOpprettes.stream().map(f -> f.orgnr().orgnr()).toList());
         for (OppdaterForespørselDto forespørselDto : skalOpprettes) {
             var opprettForespørselTask = OpprettForespørselTask.lagTaskData(ytelsetype,
                 aktørId,
@@ -210,15 +222,18 @@ class ForespørselBehandlingTjenesteImpl implements ForespørselBehandlingTjenes
 
     @Override
     public void settForespørselTilUtgått(ForespørselEntitet eksisterendeForespørsel, boolean skalOppdatereArbeidsgiverNotifikasjon) {
+        var tilleggsinformasjon = ForespørselTekster.lagTilleggsInformasjon(LukkeÅrsak.UTGÅTT, eksisterendeForespørsel.getSkjæringstidspunkt());
         if (skalOppdatereArbeidsgiverNotifikasjon) {
-            eksisterendeForespørsel.getOppgaveId().map(oppgaveId -> arbeidsgiverNotifikasjon.oppgaveUtgått(oppgaveId, OffsetDateTime.now()));
-            arbeidsgiverNotifikasjon.ferdigstillSak(eksisterendeForespørsel.getArbeidsgiverNotifikasjonSakId(),
-                false); // Oppdaterer status i arbeidsgiver-notifikasjon
+            // Oppdaterer oppgave, status og tilleggsinformasjon i arbeidsgiver-notifikasjon i ett kall
+            arbeidsgiverNotifikasjon.settSakOgOppgaveTilUtgått(eksisterendeForespørsel.getArbeidsgiverNotifikasjonSakId(),
+                eksisterendeForespørsel.getOppgaveId(),
+                OffsetDateTime.now(),
+                tilleggsinformasjon);
+        } else {
+            arbeidsgiverNotifikasjon.oppdaterSakTilleggsinformasjon(eksisterendeForespørsel.getArbeidsgiverNotifikasjonSakId(), tilleggsinformasjon);
         }
-
-        arbeidsgiverNotifikasjon.oppdaterSakTilleggsinformasjon(eksisterendeForespørsel.getArbeidsgiverNotifikasjonSakId(),
-            ForespørselTekster.lagTilleggsInformasjon(LukkeÅrsak.UTGÅTT, eksisterendeForespørsel.getSkjæringstidspunkt()));
         forespørselTjeneste.settForespørselTilUtgått(eksisterendeForespørsel.getArbeidsgiverNotifikasjonSakId());
+        forespørselTjeneste.oppfrisk(eksisterendeForespørsel);
 
         var msg = String.format("Setter forespørsel til utgått, orgnr: %s, stp: %s, saksnr: %s, ytelse: %s",
             eksisterendeForespørsel.getOrganisasjonsnummer(),
@@ -236,6 +251,7 @@ class ForespørselBehandlingTjenesteImpl implements ForespørselBehandlingTjenes
         }
         arbeidsgiverNotifikasjon.oppdaterSakTilleggsinformasjon(eksisterendeForespørsel.getArbeidsgiverNotifikasjonSakId(), null);
         forespørselTjeneste.ferdigstillForespørsel(eksisterendeForespørsel.getArbeidsgiverNotifikasjonSakId());
+        forespørselTjeneste.oppfrisk(eksisterendeForespørsel);
 
         var msg = String.format("Gjenåpner forespørsel, orgnr: %s, stp: %s, saksnr: %s, ytelse: %s",
             eksisterendeForespørsel.getOrganisasjonsnummer(),
@@ -269,33 +285,20 @@ class ForespørselBehandlingTjenesteImpl implements ForespørselBehandlingTjenes
         var person = personTjeneste.hentPersonInfoFraAktørId(aktørId, ytelsetype);
         var merkelapp = ForespørselTekster.finnMerkelapp(ytelsetype);
         var skjemaUri = URI.create(inntektsmeldingSkjemaLenke + "/" + uuid);
-        var arbeidsgiverNotifikasjonSakId = arbeidsgiverNotifikasjon.opprettSak(uuid.toString(),
+        var sakOgOppgave = arbeidsgiverNotifikasjon.opprettSakOgOppgave(uuid.toString(),
             merkelapp,
             organisasjonsnummer.orgnr(),
             ForespørselTekster.lagSaksTittel(person.mapFulltNavn(), person.fødselsdato()),
+            ForespørselTekster.lagTilleggsInformasjonOrdinær(skjæringstidspunkt),
+            uuid.toString(),
+            ForespørselTekster.lagOppgaveTekst(ytelsetype),
+            ForespørselTekster.lagVarselTekst(ytelsetype, organisasjon),
+            ForespørselTekster.lagPåminnelseTekst(ytelsetype, organisasjon),
             skjemaUri);
 
-        arbeidsgiverNotifikasjon.oppdaterSakTilleggsinformasjon(arbeidsgiverNotifikasjonSakId, ForespørselTekster.lagTilleggsInformasjonOrdinær(skjæringstidspunkt));
-
-        forespørselTjeneste.setArbeidsgiverNotifikasjonSakId(uuid, arbeidsgiverNotifikasjonSakId);
-
-        String oppgaveId;
-        try {
-            oppgaveId = arbeidsgiverNotifikasjon.opprettOppgave(uuid.toString(),
-                merkelapp,
-                uuid.toString(),
-                organisasjonsnummer.orgnr(),
-                ForespørselTekster.lagOppgaveTekst(ytelsetype),
-                ForespørselTekster.lagVarselTekst(ytelsetype, organisasjon),
-                ForespørselTekster.lagPåminnelseTekst(ytelsetype, organisasjon),
-                skjemaUri);
-        } catch (Exception e) {
-            //Manuell rollback er nødvendig fordi sak og oppgave går i to forskjellige kall
-            arbeidsgiverNotifikasjon.slettSak(arbeidsgiverNotifikasjonSakId);
-            throw e;
-        }
-
-        forespørselTjeneste.setOppgaveId(uuid, oppgaveId);
+        forespørselTjeneste.setArbeidsgiverNotifikasjonSakId(uuid, sakOgOppgave.sakId());
+        forespørselTjeneste.setOppgaveId(uuid, sakOgOppgave.oppgaveId());
+        oppfriskOpprettetForespørsel(uuid);
     }
 
     public UUID opprettForespørselForArbeidsgiverInitiertIm(Ytelsetype ytelsetype,
@@ -328,10 +331,16 @@ class ForespørselBehandlingTjenesteImpl implements ForespørselBehandlingTjenes
             skjemaUri);
 
         forespørselTjeneste.setArbeidsgiverNotifikasjonSakId(uuid, fagerSakId);
+        oppfriskOpprettetForespørsel(uuid);
 
         return uuid;
     }
 
+    private void oppfriskOpprettetForespørsel(UUID uuid) {
+        // Forespørselen ble lagret i denne transaksjonen, og sak- og oppgave-id er skrevet rett til databasen etterpå
+        forespørselTjeneste.hentForespørsel(uuid).ifPresent(forespørselTjeneste::oppfrisk);
+    }
+
     @Override
     public void lukkForespørsel(SaksnummerDto fagsakSaksnummer, OrganisasjonsnummerDto orgnummerDto, LocalDate skjæringstidspunkt) {
         var forespørsler = hentÅpneForespørslerForFagsak(fagsakSaksnummer, orgnummerDto, skjæringstidspunkt);
@@ -374,6 +383,18 @@ class ForespørselBehandlingTjenesteImpl implements ForespørselBehandlingTjenes
             .toList();
     }
 
+    @Override
+    public List<ForespørselOversikt> hentForespørselOversiktForFagsak(SaksnummerDto fagsakSaksnummer) {
+        return forespørselTjeneste.finnForespørselOversiktForFagsak(fagsakSaksnummer);
+    }
+
+    @Override
+    public List<ForespørselOversikt> hentForespørselOversiktForFagsak(SaksnummerDto fagsakSaksnummer,
+                                                                     ForespørselOversikt.Sidenøkkel etter,
+                                                                     int antall) {
+        return forespørselTjeneste.finnForespørselOversiktForFagsak(fagsakSaksnummer, etter, antall);
+    }
+
     @Override
     public void slettForespørsel(SaksnummerDto fagsakSaksnummer, OrganisasjonsnummerDto orgnummerDto, LocalDate skjæringstidspunkt) {
         var sakerSomSkalSlettes = forespørselTjeneste.finnForespørslerForFagsak(fagsakSaksnummer).stream()
@@ -386,21 +407,23 @@ class ForespørselBehandlingTjenesteImpl implements ForespørselBehandlingTjenes
             var msg = String.format("Fant ikke akkurat 1 sak som skulle slettes. Fant istedet %s saker ", sakerSomSkalSlettes.size());
             throw new IllegalStateException(msg);
         }
-        var agPortalSakId = sakerSomSkalSlettes.getFirst().getArbeidsgiverNotifikasjonSakId();
+        var forespørsel = sakerSomSkalSlettes.getFirst();
+        var agPortalSakId = forespørsel.getArbeidsgiverNotifikasjonSakId();
         arbeidsgiverNotifikasjon.slettSak(agPortalSakId);
         forespørselTjeneste.settForespørselTilUtgått(agPortalSakId);
+        forespørselTjeneste.oppfrisk(forespørsel);
     }
 
     @Override
     public List<InntektsmeldingForespørselDto> finnForespørslerForFagsak(SaksnummerDto fagsakSaksnummer) {
-        return forespørselTjeneste.finnForespørslerForFagsak(fagsakSaksnummer).stream().map(forespoersel ->
+        return forespørselTjeneste.finnForespørselOversiktForFagsak(fagsakSaksnummer).stream().map(forespoersel ->
                 new InntektsmeldingForespørselDto(
-                    forespoersel.getUuid(),
-                    forespoersel.getSkjæringstidspunkt(),
-                    forespoersel.getOrganisasjonsnummer(),
-                    forespoersel.getAktørId().getAktørId(),
-                    forespoersel.getYtelseType().toString(),
-                    forespoersel.getFørsteUttaksdato().orElse(null)))
+                    forespoersel.uuid(),
+                    forespoersel.skjæringstidspunkt(),
+                    forespoersel.organisasjonsnummer(),
+                    forespoersel.aktørId(),
+                    forespoersel.ytelseType().toString(),
+                    forespoersel.førsteUttaksdato()))
             .toList();
     }
 
@@ -9,6 +9,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselEntitet;
+import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselOversikt;
 import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselRepository;
 import no.nav.familie.inntektsmelding.koder.Ytelsetype;
 import no.nav.familie.inntektsmelding.typer.dto.OrganisasjonsnummerDto;
@@ -56,6 +57,10 @@ public class ForespørselTjeneste {
         forespørselRepository.settForespørselTilUtgått(arbeidsgiverNotifikasjonSakId);
     }
 
+    public void oppfrisk(ForespørselEntitet forespørsel) {
+        forespørselRepository.oppfrisk(forespørsel);
+    }
+
     public List<ForespørselEntitet> finnÅpneForespørslerForFagsak(SaksnummerDto fagsakSaksnummer) {
         return forespørselRepository.finnÅpenForespørsel(fagsakSaksnummer);
     }
@@ -72,6 +77,14 @@ public class ForespørselTjeneste {
         return forespørselRepository.hentForespørsler(fagsakSaksnummer);
     }
 
+    public List<ForespørselOversikt> finnForespørselOversiktForFagsak(SaksnummerDto fagsakSaksnummer) {
+        return forespørselRepository.hentForespørselOversikt(fagsakSaksnummer);
+    }
+
+    public List<ForespørselOversikt> finnForespørselOversiktForFagsak(SaksnummerDto fagsakSaksnummer, ForespørselOversikt.Sidenøkkel etter, int antall) {
+        return forespørselRepository.hentForespørselOversikt(fagsakSaksnummer, etter, antall);
+    }
+
     public List<ForespørselEntitet> finnForespørsler(AktørIdEntitet aktørId, Ytelsetype ytelsetype, String orgnr) {
         return forespørselRepository.finnForespørsler(aktørId, ytelsetype, orgnr);
     }
@@ -0,0 +1,72 @@
+package no.nav.familie.inntektsmelding.forespørsel.tjenester.task;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselEntitet;
+import no.nav.familie.inntektsmelding.forespørsel.tjenester.ForespørselBehandlingTjeneste;
+import no.nav.familie.inntektsmelding.forespørsel.tjenester.LukkeÅrsak;
+import no.nav.familie.inntektsmelding.koder.ForespørselStatus;
+import no.nav.vedtak.felles.prosesstask.api.ProsessTask;
+import no.nav.vedtak.felles.prosesstask.api.ProsessTaskData;
+import no.nav.vedtak.felles.prosesstask.api.ProsessTaskHandler;
+
+/**
+ * Oppdaterer sak og oppgave i arbeidsgiver-notifikasjon etter at en forespørsel er ferdigstilt.
+ * Tasken lagres i samme transaksjon som ferdigstillingen, slik at innsending ikke venter på fager, og feilede kall prøves på nytt.
+ * Har forespørselen fått en annen status før tasken kjører, er det den nye statusen som gjelder også i arbeidsgiver-notifikasjon.
+ */
+@ApplicationScoped
+@ProsessTask("forespørsel.ferdigstill.notifikasjon")
+public class FerdigstillArbeidsgiverNotifikasjonTask implements ProsessTaskHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(FerdigstillArbeidsgiverNotifikasjonTask.class);
+
+    public static final String FORESPØRSEL_UUID = "forespoerselUuid";
+    public static final String LUKKE_ÅRSAK = "lukkeAarsak";
+    public static final String FERDIGSTILT_TIDSPUNKT = "ferdigstiltTidspunkt";
+
+    private ForespørselBehandlingTjeneste forespørselBehandlingTjeneste;
+
+    @Inject
+    public FerdigstillArbeidsgiverNotifikasjonTask(ForespørselBehandlingTjeneste forespørselBehandlingTjeneste) {
+        this.forespørselBehandlingTjeneste = forespørselBehandlingTjeneste;
+    }
+
+    FerdigstillArbeidsgiverNotifikasjonTask() {
+        // CDI
+    }
+
+    public static ProsessTaskData lagTaskData(ForespørselEntitet forespørsel, LukkeÅrsak årsak, OffsetDateTime ferdigstiltTidspunkt) {
+        var taskData = ProsessTaskData.forProsessTask(FerdigstillArbeidsgiverNotifikasjonTask.class);
+        taskData.setProperty(FORESPØRSEL_UUID, forespørsel.getUuid().toString());
+        taskData.setProperty(LUKKE_ÅRSAK, årsak.name());
+        taskData.setProperty(FERDIGSTILT_TIDSPUNKT, ferdigstiltTidspunkt.toString());
+        taskData.setSaksnummer(forespørsel.getFagsystemSaksnummer());
+        return taskData;
+    }
+
+    @Override
+    public void doTask(ProsessTaskData prosessTaskData) {
+        var forespørselUuid = prosessTaskData.getPropertyValue(FORESPØRSEL_UUID);
+        var forespørsel = forespørselBehandlingTjeneste.hentForespørsel(UUID.fromString(forespørselUuid));
+
+        if (forespørsel.isEmpty()) {
+            LOG.warn("Fant ikke forespørsel med uuid {}", forespørselUuid);
+            return;
+        }
+        if (forespørsel.get().getStatus() != ForespørselStatus.FERDIG) {
+            LOG.info("Forespørsel med uuid {} har status {} og er ikke lenger ferdigstilt", forespørselUuid, forespørsel.get().getStatus());
+            return;
+        }
+
+        var årsak = LukkeÅrsak.valueOf(prosessTaskData.getPropertyValue(LUKKE_ÅRSAK));
+        var ferdigstiltTidspunkt = OffsetDateTime.parse(prosessTaskData.getPropertyValue(FERDIGSTILT_TIDSPUNKT));
+        forespørselBehandlingTjeneste.ferdigstillArbeidsgiverNotifikasjon(forespørsel.get(), årsak, ferdigstiltTidspunkt);
+    }
+}
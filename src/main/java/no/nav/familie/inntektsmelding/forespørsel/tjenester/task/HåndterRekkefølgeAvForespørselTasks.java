@@ -30,7 +30,8 @@ public class HåndterRekkefølgeAvForespørselTasks implements ProsessTaskLifecy
     private static final Set<TaskType> BLOKKERENDE = Set.of(
         OPPRETT,
         TaskType.forProsessTask(SettForespørselTilUtgåttTask.class),
-        TaskType.forProsessTask(GjenåpneForespørselTask.class));
+        TaskType.forProsessTask(GjenåpneForespørselTask.class),
+        TaskType.forProsessTask(FerdigstillArbeidsgiverNotifikasjonTask.class));
 
     private ProsessTaskRepository prosessTaskRepository;
 
@@ -22,6 +22,9 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import no.nav.familie.inntektsmelding.koder.Kildesystem;
 import no.nav.familie.inntektsmelding.koder.Ytelsetype;
 import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
@@ -72,12 +75,15 @@ public class InntektsmeldingEntitet {
     private Kildesystem kildesystem;
 
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "inntektsmelding")
+    @Fetch(FetchMode.SUBSELECT)
     private List<RefusjonsendringEntitet> refusjonsendringer = new ArrayList<>();
 
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "inntektsmelding")
+    @Fetch(FetchMode.SUBSELECT)
     private List<BortaltNaturalytelseEntitet> borfalteNaturalYtelser = new ArrayList<>();
 
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "inntektsmelding")
+    @Fetch(FetchMode.SUBSELECT)
     private List<EndringsårsakEntitet> endringsårsaker = new ArrayList<>();
 
     public InntektsmeldingEntitet() {
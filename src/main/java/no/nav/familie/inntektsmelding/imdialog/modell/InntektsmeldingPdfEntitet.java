@@ -0,0 +1,81 @@
+package no.nav.familie.inntektsmelding.imdialog.modell;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+@Entity(name = "InntektsmeldingPdfEntitet")
+@Table(name = "INNTEKTSMELDING_PDF")
+public class InntektsmeldingPdfEntitet {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "GLOBAL_PK_SEQ_GENERATOR")
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "inntektsmelding_id", nullable = false, updatable = false)
+    private InntektsmeldingEntitet inntektsmelding;
+
+    @Column(name = "innhold_hash", nullable = false, updatable = false)
+    private String innholdHash;
+
+    @Column(name = "mal_versjon", nullable = false, updatable = false)
+    private String malVersjon;
+
+    @Column(name = "pdf", nullable = false, updatable = false)
+    private byte[] pdf;
+
+    @Column(name = "sjekksum", nullable = false, updatable = false)
+    private String sjekksum;
+
+    @Column(name = "stoerrelse", nullable = false, updatable = false)
+    private Integer størrelse;
+
+    @Column(name = "opprettet_tid", nullable = false, updatable = false)
+    private LocalDateTime opprettetTidspunkt = LocalDateTime.now();
+
+    public InntektsmeldingPdfEntitet() {
+        // Hibernate
+    }
+
+    public InntektsmeldingPdfEntitet(InntektsmeldingEntitet inntektsmelding, String innholdHash, String malVersjon, byte[] pdf, String sjekksum) {
+        this.inntektsmelding = inntektsmelding;
+        this.innholdHash = innholdHash;
+        this.malVersjon = malVersjon;
+        this.pdf = pdf;
+        this.sjekksum = sjekksum;
+        this.størrelse = pdf.length;
+    }
+
+    public String getInnholdHash() {
+        return innholdHash;
+    }
+
+    public String getMalVersjon() {
+        return malVersjon;
+    }
+
+    public byte[] getPdf() {
+        return pdf;
+    }
+
+    public String getSjekksum() {
+        return sjekksum;
+    }
+
+    public Integer getStørrelse() {
+        return størrelse;
+    }
+
+    public LocalDateTime getOpprettetTidspunkt() {
+        return opprettetTidspunkt;
+    }
+}
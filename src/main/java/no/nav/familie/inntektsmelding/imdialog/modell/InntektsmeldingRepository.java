@@ -35,9 +35,12 @@ public class InntektsmeldingRepository {
         return hentInntektsmeldinger(aktørId, arbeidsgiverIdent,  startDato, ytelsetype).stream().findFirst();
     }
 
+    /**
+     * Kontaktperson hentes i samme spørring, og samlingene hentes med én spørring hver for alle inntektsmeldingene i resultatet.
+     */
     public List<InntektsmeldingEntitet> hentInntektsmeldinger(AktørIdEntitet aktørId, String arbeidsgiverIdent, LocalDate startDato, Ytelsetype ytelsetype) {
         var query = entityManager.createQuery(
-                "FROM InntektsmeldingEntitet where aktørId = :brukerAktørId and ytelsetype = :ytelsetype and arbeidsgiverIdent = :arbeidsgiverIdent and startDato = :startDato order by opprettetTidspunkt desc",
+                "FROM InntektsmeldingEntitet im left join fetch im.kontaktperson where im.aktørId = :brukerAktørId and im.ytelsetype = :ytelsetype and im.arbeidsgiverIdent = :arbeidsgiverIdent and im.startDato = :startDato order by im.opprettetTidspunkt desc",
                 InntektsmeldingEntitet.class)
             .setParameter("brukerAktørId", aktørId)
             .setParameter("arbeidsgiverIdent", arbeidsgiverIdent)
@@ -50,4 +53,47 @@ public class InntektsmeldingRepository {
     public InntektsmeldingEntitet hentInntektsmelding(long inntektsmeldingId) {
         return entityManager.find(InntektsmeldingEntitet.class, inntektsmeldingId);
     }
+
+    /**
+     * Henter kun arbeidsgiverIdent for inntektsmeldingen, uten å laste hele entiteten.
+     */
+    public Optional<String> hentArbeidsgiverIdent(long inntektsmeldingId) {
+        return entityManager.createQuery("select arbeidsgiverIdent from InntektsmeldingEntitet where id = :inntektsmeldingId", String.class)
+            .setParameter("inntektsmeldingId", inntektsmeldingId)
+            .getResultStream()
+            .findFirst();
+    }
+
+    /**
+     * Lagrer pdf-en og sletter tidligere lagrede pdf-er av samme inntektsmelding, slik at det kun finnes én per inntektsmelding.
+     */
+    /**
+     * Tidligere pdf-er av samme inntektsmelding beholdes. Det kommer kun en ny rad når dataene eller malen endres, og to samtidige
+     * genereringer av samme dokument skal ikke feile på hverandre.
+     */
+    public void lagrePdf(InntektsmeldingPdfEntitet pdfEntitet) {
+        entityManager.persist(pdfEntitet);
+        entityManager.flush();
+    }
+
+    public Optional<InntektsmeldingPdfEntitet> hentPdf(long inntektsmeldingId, String innholdHash) {
+        return entityManager.createQuery(
+                "FROM InntektsmeldingPdfEntitet where inntektsmelding.id = :inntektsmeldingId and innholdHash = :innholdHash",
+                InntektsmeldingPdfEntitet.class)
+            .setParameter("inntektsmeldingId", inntektsmeldingId)
+            .setParameter("innholdHash", innholdHash)
+            .getResultStream()
+            .findFirst();
+    }
+
+    public Optional<InntektsmeldingPdfEntitet> hentSistLagredePdf(long inntektsmeldingId, String malVersjon) {
+        return entityManager.createQuery(
+                "FROM InntektsmeldingPdfEntitet where inntektsmelding.id = :inntektsmeldingId and malVersjon = :malVersjon order by opprettetTidspunkt desc",
+                InntektsmeldingPdfEntitet.class)
+            .setParameter("inntektsmeldingId", inntektsmeldingId)
+            .setParameter("malVersjon", malVersjon)
+            .setMaxResults(1)
+            .getResultStream()
+            .findFirst();
+    }
 }
@@ -1,12 +1,13 @@
 package no.nav.familie.inntektsmelding.imdialog.task;
 
-import java.io.StringWriter;
+import java.io.ByteArrayOutputStream;
 import java.util.Map;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
 
 import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingEntitet;
 import no.nav.familie.inntektsmelding.integrasjoner.person.PersonTjeneste;
@@ -17,6 +18,10 @@ import no.seres.xsd.nav.inntektsmelding_m._20181211.ObjectFactory;
 
 @ApplicationScoped
 public class InntektsmeldingXMLTjeneste {
+    // JAXBContext er trådsikker og dyr å opprette, mens Marshaller ikke er trådsikker og derfor holdes per tråd
+    private static final JAXBContext JAXB_KONTEKST = opprettJaxbKontekst();
+    private static final ThreadLocal<Marshaller> MARSHALLER = ThreadLocal.withInitial(InntektsmeldingXMLTjeneste::opprettMarshaller);
+
     private PersonTjeneste personTjeneste;
 
     InntektsmeldingXMLTjeneste() {
@@ -28,7 +33,7 @@ public class InntektsmeldingXMLTjeneste {
         this.personTjeneste = personTjeneste;
     }
 
-    public String lagXMLAvInntektsmelding(InntektsmeldingEntitet inntektsmelding) {
+    public byte[] lagXMLAvInntektsmelding(InntektsmeldingEntitet inntektsmelding) {
         var søkerIdent = personTjeneste.finnPersonIdentForAktørId(inntektsmelding.getAktørId());
         var aktørIdIdentMap = Map.of(inntektsmelding.getAktørId(), søkerIdent);
         if (!OrganisasjonsnummerValidator.erGyldig(inntektsmelding.getArbeidsgiverIdent()) && inntektsmelding.getArbeidsgiverIdent().length() == 13) {
@@ -44,11 +49,26 @@ public class InntektsmeldingXMLTjeneste {
         }
     }
 
-    private String marshalXml(InntektsmeldingM imWrapper) throws JAXBException {
-        var kontekst = JAXBContext.newInstance(ObjectFactory.class);
-        var writer = new StringWriter();
-        kontekst.createMarshaller().marshal(new ObjectFactory().createMelding(imWrapper), writer);
-        return writer.toString();
+    private byte[] marshalXml(InntektsmeldingM imWrapper) throws JAXBException {
+        var output = new ByteArrayOutputStream();
+        MARSHALLER.get().marshal(new ObjectFactory().createMelding(imWrapper), output);
+        return output.toByteArray();
+    }
+
+    private static JAXBContext opprettJaxbKontekst() {
+        try {
+            return JAXBContext.newInstance(ObjectFactory.class);
+        } catch (JAXBException ex) {
+            throw new IllegalStateException("Feil ved opprettelse av JAXBContext " + ex);
+        }
+    }
+
+    private static Marshaller opprettMarshaller() {
+        try {
+            return JAXB_KONTEKST.createMarshaller();
+        } catch (JAXBException ex) {
+            throw new IllegalStateException("Feil ved opprettelse av Marshaller " + ex);
+        }
     }
 
 }
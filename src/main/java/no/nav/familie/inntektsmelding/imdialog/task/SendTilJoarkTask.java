@@ -50,7 +50,7 @@ public class SendTilJoarkTask implements ProsessTaskHandler {
 
         var pdf = k9DokgenTjeneste.mapDataOgGenererPdf(inntektsmelding);
 
-        LOG.debug("Genererte XML: {} og pdf av inntektsmeldingen, journalfører på sak: {}", xml, fagsysteSaksnummer);
+        LOG.debug("Genererte XML og pdf av inntektsmeldingen, journalfører på sak: {}", fagsysteSaksnummer);
         joarkTjeneste.journalførInntektsmelding(xml, inntektsmelding, pdf, fagsysteSaksnummer);
         LOG.info("Sluttfører task oversendJoark");
     }
@@ -1,5 +1,6 @@
 package no.nav.familie.inntektsmelding.imdialog.tjenester;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +36,7 @@ import no.nav.familie.inntektsmelding.typer.dto.KodeverkMapper;
 import no.nav.familie.inntektsmelding.typer.dto.OrganisasjonsnummerDto;
 import no.nav.familie.inntektsmelding.typer.dto.SaksnummerDto;
 import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
+import no.nav.familie.inntektsmelding.utils.ParallellKjøring;
 import no.nav.vedtak.felles.prosesstask.api.ProsessTaskData;
 import no.nav.vedtak.felles.prosesstask.api.ProsessTaskTjeneste;
 import no.nav.vedtak.sikkerhet.kontekst.IdentType;
@@ -43,6 +45,9 @@ import no.nav.vedtak.sikkerhet.kontekst.KontekstHolder;
 @ApplicationScoped
 public class InntektsmeldingTjeneste {
     private static final Logger LOG = LoggerFactory.getLogger(InntektsmeldingTjeneste.class);
+    private static final Duration TIDSAVBRUDD_PDL = Duration.ofSeconds(10);
+    private static final Duration TIDSAVBRUDD_EREG = Duration.ofSeconds(10);
+    private static final Duration TIDSAVBRUDD_INNTEKT = Duration.ofSeconds(20);
     private ForespørselBehandlingTjeneste forespørselBehandlingTjeneste;
     private InntektsmeldingRepository inntektsmeldingRepository;
     private PersonTjeneste personTjeneste;
@@ -150,17 +155,18 @@ public class InntektsmeldingTjeneste {
         var forespørsel = forespørselBehandlingTjeneste.hentForespørsel(forespørselUuid)
             .orElseThrow(() -> new IllegalStateException(
                 "Prøver å hente data for en forespørsel som ikke finnes, forespørselUUID: " + forespørselUuid));
-        var personDto = lagPersonDto(forespørsel.getAktørId(), forespørsel.getYtelseType());
-        var organisasjonDto = lagOrganisasjonDto(forespørsel.getOrganisasjonsnummer());
-        var innmelderDto = lagInnmelderDto(forespørsel.getYtelseType());
-        var inntektDtoer = lagInntekterDto(forespørsel.getUuid(),
+        // Oppslagene mot PDL, Ereg og inntektskomponenten er uavhengige av hverandre og kjøres samtidig
+        var personDto = ParallellKjøring.start(() -> lagPersonDto(forespørsel.getAktørId(), forespørsel.getYtelseType()), TIDSAVBRUDD_PDL);
+        var organisasjonDto = ParallellKjøring.start(() -> lagOrganisasjonDto(forespørsel.getOrganisasjonsnummer()), TIDSAVBRUDD_EREG);
+        var innmelderDto = ParallellKjøring.start(() -> lagInnmelderDto(forespørsel.getYtelseType()), TIDSAVBRUDD_PDL);
+        var inntektDtoer = ParallellKjøring.start(() -> lagInntekterDto(forespørsel.getUuid(),
             forespørsel.getAktørId(),
             forespørsel.getSkjæringstidspunkt(),
-            forespørsel.getOrganisasjonsnummer());
-        return new InntektsmeldingDialogDto(personDto,
-            organisasjonDto,
-            innmelderDto,
-            inntektDtoer,
+            forespørsel.getOrganisasjonsnummer()), TIDSAVBRUDD_INNTEKT);
+        return new InntektsmeldingDialogDto(ParallellKjøring.hent(personDto, "oppslag av person"),
+            ParallellKjøring.hent(organisasjonDto, "oppslag av organisasjon"),
+            ParallellKjøring.hent(innmelderDto, "oppslag av innsender"),
+            ParallellKjøring.hent(inntektDtoer, "oppslag av inntekt"),
             forespørsel.getSkjæringstidspunkt(),
             KodeverkMapper.mapYtelsetype(forespørsel.getYtelseType()),
             forespørsel.getUuid(),
@@ -186,13 +192,14 @@ public class InntektsmeldingTjeneste {
 
         var personDto = new InntektsmeldingDialogDto.PersonInfoResponseDto(personInfo.fornavn(), personInfo.mellomnavn(), personInfo.etternavn(),
             personInfo.fødselsnummer().getIdent(), personInfo.aktørId().getAktørId());
-        var organisasjonDto = lagOrganisasjonDto(organisasjonsnummer.orgnr());
-        var innmelderDto = lagInnmelderDto(ytelsetype);
-        var inntektDtoer = lagInntekterDto(null, personInfo.aktørId(), førsteFraværsdag, organisasjonsnummer.orgnr());
+        var organisasjonDto = ParallellKjøring.start(() -> lagOrganisasjonDto(organisasjonsnummer.orgnr()), TIDSAVBRUDD_EREG);
+        var innmelderDto = ParallellKjøring.start(() -> lagInnmelderDto(ytelsetype), TIDSAVBRUDD_PDL);
+        var inntektDtoer = ParallellKjøring.start(() -> lagInntekterDto(null, personInfo.aktørId(), førsteFraværsdag, organisasjonsnummer.orgnr()),
+            TIDSAVBRUDD_INNTEKT);
         return new InntektsmeldingDialogDto(personDto,
-            organisasjonDto,
-            innmelderDto,
-            inntektDtoer,
+            ParallellKjøring.hent(organisasjonDto, "oppslag av organisasjon"),
+            ParallellKjøring.hent(innmelderDto, "oppslag av innsender"),
+            ParallellKjøring.hent(inntektDtoer, "oppslag av inntekt"),
             førsteFraværsdag,
             KodeverkMapper.mapYtelsetype(ytelsetype),
             null,
@@ -218,8 +225,8 @@ public class InntektsmeldingTjeneste {
     }
 
     public byte[] hentPDF(long id) {
-        var inntektsmeldingEntitet = inntektsmeldingRepository.hentInntektsmelding(id);
-        return k9DokgenTjeneste.mapDataOgGenererPdf(inntektsmeldingEntitet);
+        return k9DokgenTjeneste.hentLagretPdf(id)
+            .orElseGet(() -> k9DokgenTjeneste.mapDataOgGenererPdf(inntektsmeldingRepository.hentInntektsmelding(id)));
     }
 
     private InntektsmeldingDialogDto.InnsenderDto lagInnmelderDto(Ytelsetype ytelsetype) {
@@ -250,7 +257,8 @@ public class InntektsmeldingTjeneste {
                 i.beløp(),
                 i.status()))
             .toList();
-        return new InntektsmeldingDialogDto.InntektsopplysningerDto(inntektsopplysninger.gjennomsnitt(), inntekter);
+        return new InntektsmeldingDialogDto.InntektsopplysningerDto(inntektsopplysninger.gjennomsnitt(), inntekter,
+            inntektsopplysninger.utdatert());
     }
 
     private InntektsmeldingDialogDto.OrganisasjonInfoResponseDto lagOrganisasjonDto(String organisasjonsnummer) {
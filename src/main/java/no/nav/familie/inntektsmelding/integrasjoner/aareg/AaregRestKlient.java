@@ -1,17 +1,25 @@
 package no.nav.familie.inntektsmelding.integrasjoner.aareg;
 
 import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.core.UriBuilderException;
 
 import no.nav.familie.inntektsmelding.integrasjoner.aareg.dto.ArbeidsforholdDto;
+import no.nav.familie.inntektsmelding.metrikker.MetrikkerTjeneste;
+import no.nav.familie.inntektsmelding.utils.ParallellKjøring;
+import no.nav.foreldrepenger.konfig.Environment;
 import no.nav.vedtak.exception.IntegrasjonException;
 import no.nav.vedtak.felles.integrasjon.rest.NavHeaders;
 import no.nav.vedtak.felles.integrasjon.rest.RestClient;
@@ -19,8 +27,8 @@ import no.nav.vedtak.felles.integrasjon.rest.RestClientConfig;
 import no.nav.vedtak.felles.integrasjon.rest.RestConfig;
 import no.nav.vedtak.felles.integrasjon.rest.RestRequest;
 import no.nav.vedtak.felles.integrasjon.rest.TokenFlow;
-
 import no.nav.vedtak.mapper.json.DefaultJsonMapper;
+import no.nav.vedtak.util.LRUCache;
 
 /*
  * Dokumentasjon https://confluence.adeo.no/display/FEL/AAREG+-+Tjeneste+REST+aareg.api
@@ -28,33 +36,144 @@ import no.nav.vedtak.mapper.json.DefaultJsonMapper;
  * Swagger V2 https://aareg-services-q2.dev.intern.nav.no/swagger-ui/index.html?urls.primaryName=aareg.api.v2#/arbeidstaker/finnArbeidsforholdPrArbeidstaker
  */
 
-@Dependent
+@ApplicationScoped
 @RestClientConfig(tokenConfig = TokenFlow.AZUREAD_CC, endpointProperty = "aareg.rs.url",
     endpointDefault = "https://aareg-services.dev-fss-pub.nais.io",
     scopesProperty = "aareg.scopes", scopesDefault = "api://dev-fss.arbeidsforhold.aareg-services-nais/.default")
 public class AaregRestKlient {
+    private static final Environment ENV = Environment.current();
+
+    private static final String CACHE_NAVN = "aareg";
+    private static final int CACHE_STØRRELSE = ENV.getProperty("aareg.cache.stoerrelse", int.class, 5000);
+    private static final Duration CACHE_LEVETID = Duration.ofMinutes(ENV.getProperty("aareg.cache.levetid.minutter", int.class, 5));
+    /**
+     * Personer uten arbeidsforhold får ofte registrert et arbeidsforhold like etter at de har søkt, og huskes derfor kortere
+     */
+    private static final Duration CACHE_LEVETID_INGEN_ARBEIDSFORHOLD = Duration.ofSeconds(
+        ENV.getProperty("aareg.cache.ingen.arbeidsforhold.levetid.sekunder", int.class, 60));
+
+    /**
+     * Arbeidsforhold hentes for et vindu på så mange måneder før og etter første fraværsdag, slik at endring av dato i skjemaet
+     * kan besvares fra minnet. Med 0 hentes kun arbeidsforhold for den aktuelle datoen.
+     */
+    private static final int VINDU_MÅNEDER = ENV.getProperty("aareg.vindu.maaneder", int.class, 6);
+
+    /**
+     * Arbeidsforholdene Aareg oppga for en arbeidstaker i perioden fom-tom. Identen holdes kun i minnet og logges aldri.
+     */
+    private record Vindu(LocalDate fom, LocalDate tom, List<ArbeidsforholdDto> arbeidsforhold) {
+
+        boolean omfatter(LocalDate dato) {
+            return !dato.isBefore(fom) && !dato.isAfter(tom);
+        }
+
+        List<ArbeidsforholdDto> ansattPå(LocalDate dato) {
+            return arbeidsforhold.stream().filter(a -> erAnsattPå(a, dato)).toList();
+        }
+    }
 
     private final RestClient restClient; // Setter på consumer-token fra STS
     private final RestConfig restConfig;
+    private final ConcurrentMap<String, CompletableFuture<Vindu>> pågåendeOppslag = new ConcurrentHashMap<>();
+    private final LRUCache<String, Vindu> cache;
+    private final LRUCache<String, Vindu> ingenArbeidsforhold;
+    private final int vinduMåneder;
 
     public AaregRestKlient() {
         this(RestClient.client());
     }
 
     public AaregRestKlient(RestClient restClient) {
+        this(restClient, CACHE_LEVETID, CACHE_LEVETID_INGEN_ARBEIDSFORHOLD, VINDU_MÅNEDER);
+    }
+
+    AaregRestKlient(RestClient restClient, Duration cacheLevetid, Duration cacheLevetidIngenArbeidsforhold, int vinduMåneder) {
         this.restClient = restClient;
+        this.vinduMåneder = vinduMåneder;
         this.restConfig = RestConfig.forClient(this.getClass());
+        this.cache = new LRUCache<>(CACHE_STØRRELSE, cacheLevetid.toMillis());
+        this.ingenArbeidsforhold = new LRUCache<>(CACHE_STØRRELSE, cacheLevetidIngenArbeidsforhold.toMillis());
     }
 
     public List<ArbeidsforholdDto> finnArbeidsforholdForArbeidstaker(String personIdent, LocalDate førsteFraværsdag) {
+        var vindu = finnVindu(personIdent, førsteFraværsdag);
+        if (vindu.isPresent()) {
+            MetrikkerTjeneste.loggCacheOppslag(CACHE_NAVN, true);
+            return vindu.get().ansattPå(førsteFraværsdag);
+        }
+        MetrikkerTjeneste.loggCacheOppslag(CACHE_NAVN, false);
+        return lastInn(personIdent, førsteFraværsdag).ansattPå(førsteFraværsdag);
+    }
+
+    private Optional<Vindu> finnVindu(String personIdent, LocalDate dato) {
+        return Optional.ofNullable(cache.get(personIdent))
+            .or(() -> Optional.ofNullable(ingenArbeidsforhold.get(personIdent)))
+            .filter(v -> v.omfatter(dato));
+    }
+
+    /**
+     * Samtidige oppslag på samme arbeidstaker deler ett kall mot Aareg. Venter vi på et vindu som ikke omfatter datoen, hentes et eget.
+     */
+    private Vindu lastInn(String personIdent, LocalDate førsteFraværsdag) {
+        var nyttOppslag = new CompletableFuture<Vindu>();
+        var pågående = pågåendeOppslag.putIfAbsent(personIdent, nyttOppslag);
+        if (pågående != null) {
+            var vindu = ParallellKjøring.hent(pågående, "oppslag i Aareg");
+            return vindu.omfatter(førsteFraværsdag) ? vindu : hentOgHusk(personIdent, førsteFraværsdag);
+        }
+        try {
+            var vindu = hentOgHusk(personIdent, førsteFraværsdag);
+            nyttOppslag.complete(vindu);
+            return vindu;
+        } catch (RuntimeException e) {
+            nyttOppslag.completeExceptionally(e);
+            throw e;
+        } finally {
+            pågåendeOppslag.remove(personIdent, nyttOppslag);
+        }
+    }
+
+    private Vindu hentOgHusk(String personIdent, LocalDate førsteFraværsdag) {
+        var fom = førsteFraværsdag.minusMonths(vinduMåneder);
+        var tom = førsteFraværsdag.plusMonths(vinduMåneder);
+        var start = System.nanoTime();
+        var arbeidsforhold = hentFraAareg(personIdent, fom, tom);
+        MetrikkerTjeneste.loggCacheLasting(CACHE_NAVN, Duration.ofNanos(System.nanoTime() - start));
+        if (arbeidsforhold.isEmpty()) {
+            var vindu = new Vindu(fom, tom, Collections.emptyList());
+            ingenArbeidsforhold.put(personIdent, vindu);
+            cache.remove(personIdent);
+            return vindu;
+        }
+        var vindu = new Vindu(fom, tom, arbeidsforhold.get());
+        cache.put(personIdent, vindu);
+        ingenArbeidsforhold.remove(personIdent);
+        return vindu;
+    }
+
+    /**
+     * Samme utvalg som Aareg gjør for en periode: ansettelsesperioden må overlappe datoen. Uten oppgitt periode beholdes arbeidsforholdet.
+     */
+    private static boolean erAnsattPå(ArbeidsforholdDto arbeidsforhold, LocalDate dato) {
+        if (arbeidsforhold.ansettelsesperiode() == null || arbeidsforhold.ansettelsesperiode().periode() == null) {
+            return true;
+        }
+        var periode = arbeidsforhold.ansettelsesperiode().periode();
+        return (periode.fom() == null || !periode.fom().isAfter(dato)) && (periode.tom() == null || !periode.tom().isBefore(dato));
+    }
+
+    /**
+     * @return arbeidsforholdene til personen, eller tom dersom Aareg svarer 404
+     */
+    private Optional<List<ArbeidsforholdDto>> hentFraAareg(String personIdent, LocalDate fom, LocalDate tom) {
         try {
-            var uri = lagUriForForFinnArbeidsforholdForArbeidstaker(førsteFraværsdag, førsteFraværsdag);
+            var uri = lagUriForForFinnArbeidsforholdForArbeidstaker(fom, tom);
             var request = RestRequest.newGET(uri, restConfig).header(NavHeaders.HEADER_NAV_PERSONIDENT, personIdent);
             var response = restClient.sendReturnUnhandled(request);
 
             if (response.statusCode() == Response.Status.NOT_FOUND.getStatusCode()) {
                 // 404 betyr at det ikke finnes arbeidsforhold for personen, eller at personen ikke finnes
-                return Collections.emptyList();
+                return Optional.empty();
             }
 
             if (response.statusCode() >= 400) {
@@ -62,10 +181,10 @@ public class AaregRestKlient {
             }
 
             var arbeidsforhold = DefaultJsonMapper.fromJson(response.body(), ArbeidsforholdDto[].class);
-            return Arrays.asList(arbeidsforhold);
+            return Optional.of(Arrays.asList(arbeidsforhold));
         } catch (IntegrasjonException e) {
             if (e.getMessage().contains("404")) {
-                return Collections.emptyList();
+                return Optional.empty();
             }
             throw e;
         } catch (UriBuilderException | IllegalArgumentException e) {
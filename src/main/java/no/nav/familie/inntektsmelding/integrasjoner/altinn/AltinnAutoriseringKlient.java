@@ -2,6 +2,14 @@ package no.nav.familie.inntektsmelding.integrasjoner.altinn;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import jakarta.ws.rs.core.UriBuilder;
 
@@ -15,6 +23,10 @@ import no.nav.vedtak.felles.integrasjon.rest.RestClientConfig;
 import no.nav.vedtak.felles.integrasjon.rest.RestConfig;
 import no.nav.vedtak.felles.integrasjon.rest.RestRequest;
 import no.nav.vedtak.felles.integrasjon.rest.TokenFlow;
+import no.nav.vedtak.sikkerhet.kontekst.IdentType;
+import no.nav.vedtak.sikkerhet.kontekst.KontekstHolder;
+import no.nav.vedtak.sikkerhet.kontekst.RequestKontekst;
+import no.nav.vedtak.util.LRUCache;
 
 @RestClientConfig(tokenConfig = TokenFlow.ADAPTIVE, endpointProperty = "altinn.url", scopesProperty = "altinn.scopes")
 public class AltinnAutoriseringKlient {
@@ -30,10 +42,18 @@ public class AltinnAutoriseringKlient {
      */
     private static final int ALTINN_TOTAL_SIZE_LIMIT = 100_000;
 
+    /**
+     * Tilganger i Altinn endres sjelden innenfor en brukersesjon, men vi ønsker ikke å holde på dem lenge
+     */
+    private static final long CACHE_ELEMENT_LIVE_TIME_MS = TimeUnit.MILLISECONDS.convert(5, TimeUnit.MINUTES);
+    private static final int CACHE_STØRRELSE = 1000;
+
     private static AltinnAutoriseringKlient INSTANCE = new AltinnAutoriseringKlient();
 
     private final RestClient restClient;
     private final RestConfig restConfig;
+    private final LRUCache<String, Set<String>> tilgangerCache = new LRUCache<>(CACHE_STØRRELSE, CACHE_ELEMENT_LIVE_TIME_MS);
+    private final ConcurrentMap<String, CompletableFuture<Set<String>>> pågåendeOppslag = new ConcurrentHashMap<>();
 
 
     private AltinnAutoriseringKlient() {
@@ -55,7 +75,67 @@ public class AltinnAutoriseringKlient {
     }
 
     public boolean harTilgangTilBedriften(String orgnr) {
-        return gjørKallMedPagineringOgRetry().stream().anyMatch(reportee -> orgnr.equals(reportee.organizationNumber()));
+        return orgnr != null && hentOrganisasjonerMedTilgang().contains(orgnr);
+    }
+
+    /**
+     * Henter organisasjonsnumrene innlogget bruker har tilgang til i Altinn.
+     * Resultatet caches per innlogget bruker, og samtidige oppslag for samme bruker deler ett kall mot Altinn.
+     *
+     * @return organisasjonsnumre bruker har tilgang til
+     */
+    public Set<String> hentOrganisasjonerMedTilgang() {
+        var brukerId = innloggetBrukerId();
+        if (brukerId == null) {
+            return hentOrganisasjonsnumre();
+        }
+        var cachet = tilgangerCache.get(brukerId);
+        if (cachet != null) {
+            return cachet;
+        }
+
+        var nyttOppslag = new CompletableFuture<Set<String>>();
+        var pågående = pågåendeOppslag.putIfAbsent(brukerId, nyttOppslag);
+        if (pågående != null) {
+            return ventPå(pågående);
+        }
+        try {
+            var organisasjoner = hentOrganisasjonsnumre();
+            tilgangerCache.put(brukerId, organisasjoner);
+            nyttOppslag.complete(organisasjoner);
+            return organisasjoner;
+        } catch (RuntimeException e) {
+            nyttOppslag.completeExceptionally(e);
+            throw e;
+        } finally {
+            pågåendeOppslag.remove(brukerId, nyttOppslag);
+        }
+    }
+
+    private static String innloggetBrukerId() {
+        if (KontekstHolder.harKontekst() && KontekstHolder.getKontekst() instanceof RequestKontekst rq && IdentType.EksternBruker.equals(
+            rq.getIdentType())) {
+            return rq.getUid();
+        }
+        return null;
+    }
+
+    private static Set<String> ventPå(CompletableFuture<Set<String>> oppslag) {
+        try {
+            return oppslag.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    private Set<String> hentOrganisasjonsnumre() {
+        return gjørKallMedPagineringOgRetry().stream()
+            .map(AltinnReportee::organizationNumber)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toUnmodifiableSet());
     }
 
     private List<AltinnReportee> gjørKallMedPagineringOgRetry() {
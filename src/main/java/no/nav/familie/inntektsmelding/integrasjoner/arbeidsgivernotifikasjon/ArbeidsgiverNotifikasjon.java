@@ -2,6 +2,7 @@ package no.nav.familie.inntektsmelding.integrasjoner.arbeidsgivernotifikasjon;
 
 import java.net.URI;
 import java.time.OffsetDateTime;
+import java.util.Optional;
 
 public interface ArbeidsgiverNotifikasjon {
 
@@ -26,6 +27,34 @@ public interface ArbeidsgiverNotifikasjon {
 
     String slettSak(String id);
 
+    /**
+     * Oppretter sak med tilleggsinformasjon og oppgave i ett kall. Saken slettes igjen dersom oppgaven ikke kan opprettes.
+     */
+    SakOgOppgave opprettSakOgOppgave(String grupperingsid,
+                                     Merkelapp merkelapp,
+                                     String virksomhetsnummer,
+                                     String saksTittel,
+                                     String tilleggsinformasjon,
+                                     String eksternId,
+                                     String oppgaveTekst,
+                                     String varselTekst,
+                                     String påminnelseTekst,
+                                     URI lenke);
+
+    /**
+     * Setter oppgaven til utført, ferdigstiller saken og oppdaterer tilleggsinformasjon i ett kall.
+     */
+    void ferdigstillSakOgOppgave(String sakId,
+                                 Optional<String> oppgaveId,
+                                 OffsetDateTime utførtTidspunkt,
+                                 boolean arbeidsgiverInitiert,
+                                 String tilleggsinformasjon);
+
+    /**
+     * Setter oppgaven til utgått, ferdigstiller saken og oppdaterer tilleggsinformasjon i ett kall.
+     */
+    void settSakOgOppgaveTilUtgått(String sakId, Optional<String> oppgaveId, OffsetDateTime utgåttTidspunkt, String tilleggsinformasjon);
+
     String opprettNyBeskjedMedEksternVarsling(String grupperingsid,
                                               Merkelapp merkelapp,
                                               String eksternId,
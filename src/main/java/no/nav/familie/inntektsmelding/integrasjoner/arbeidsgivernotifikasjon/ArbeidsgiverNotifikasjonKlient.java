@@ -4,6 +4,9 @@ import static no.nav.familie.inntektsmelding.integrasjoner.arbeidsgivernotifikas
 import static no.nav.familie.inntektsmelding.integrasjoner.arbeidsgivernotifikasjon.ArbeidsgiverNotifikasjonErrorHandler.handleValidationError;
 
 import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import jakarta.enterprise.context.Dependent;
 
@@ -12,7 +15,9 @@ import no.nav.vedtak.exception.TekniskException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.kobylynskyi.graphql.codegen.model.graphql.GraphQLRequest;
+import com.kobylynskyi.graphql.codegen.model.graphql.GraphQLRequests;
 import com.kobylynskyi.graphql.codegen.model.graphql.GraphQLResult;
 
 import no.nav.vedtak.felles.integrasjon.rest.RestClient;
@@ -44,98 +49,131 @@ class ArbeidsgiverNotifikasjonKlient {
 
     public String opprettSak(NySakMutationRequest request, NySakResultatResponseProjection projection) {
         LOG.info("FAGER: Opprett Sak");
-        var resultat = query(new GraphQLRequest(request, projection), NySakMutationResponse.class).nySak();
-        if (resultat instanceof NySakVellykket vellykket) {
-            LOG.info("Vellykket opprettelse av sak");
-            return vellykket.getId();
-        } else {
-            loggFeilmelding((Error) resultat, "opprettelse av ny sak");
-        }
-        throw ulovligTilstandException();
+        return håndterNySak(query(new GraphQLRequest(request, projection), NySakMutationResponse.class).nySak());
     }
 
     public String oppdaterSakTilleggsinformasjon(TilleggsinformasjonSakMutationRequest request,
                                                  TilleggsinformasjonSakResultatResponseProjection projection) {
         LOG.info("FAGER: Oppdater tillegsinformasjon på sak");
-        var resultat = query(new GraphQLRequest(request, projection), TilleggsinformasjonSakMutationResponse.class).tilleggsinformasjonSak();
-        if (resultat instanceof TilleggsinformasjonSakVellykket vellykket) {
-            return vellykket.getId();
-        } else {
-            loggFeilmelding((Error) resultat, "oppdater sak tillegsinformasjon");
-        }
-        throw ulovligTilstandException();
+        return håndterTilleggsinformasjonSak(
+            query(new GraphQLRequest(request, projection), TilleggsinformasjonSakMutationResponse.class).tilleggsinformasjonSak());
     }
 
     public String opprettOppgave(NyOppgaveMutationRequest request, NyOppgaveResultatResponseProjection projection) {
         LOG.info("FAGER: Opprett Oppgave");
-        var resultat = query(new GraphQLRequest(request, projection), NyOppgaveMutationResponse.class).nyOppgave();
-        if (resultat instanceof NyOppgaveVellykket vellykket) {
-            LOG.info("Vellykket opprettelse av oppgave");
-            return vellykket.getId();
-        } else {
-            loggFeilmelding((Error) resultat, "opprettelse av ny oppgave");
-        }
-        throw ulovligTilstandException();
+        return håndterNyOppgave(query(new GraphQLRequest(request, projection), NyOppgaveMutationResponse.class).nyOppgave());
     }
 
     public String oppgaveUtført(OppgaveUtfoertMutationRequest request, OppgaveUtfoertResultatResponseProjection projection) {
         LOG.info("FAGER: Oppgave utført");
-        var resultat = query(new GraphQLRequest(request, projection), OppgaveUtfoertMutationResponse.class).oppgaveUtfoert();
-        if (resultat instanceof OppgaveUtfoertVellykket vellykket) {
-            return vellykket.getId();
-        } else {
-            loggFeilmelding((Error) resultat, "sett oppgave utført");
-        }
-        throw ulovligTilstandException();
+        return håndterOppgaveUtført(query(new GraphQLRequest(request, projection), OppgaveUtfoertMutationResponse.class).oppgaveUtfoert());
     }
 
     public String oppgaveUtgått(OppgaveUtgaattMutationRequest request, OppgaveUtgaattResultatResponseProjection projection) {
         LOG.info("FAGER: Oppgave utgått");
-        var resultat = query(new GraphQLRequest(request, projection), OppgaveUtgaattMutationResponse.class).oppgaveUtgaatt();
-        if (resultat instanceof OppgaveUtgaattVellykket vellykket) {
-            return vellykket.getId();
-        } else {
-            loggFeilmelding((Error) resultat, "sett oppgave utgått");
-        }
-        throw ulovligTilstandException();
+        return håndterOppgaveUtgått(query(new GraphQLRequest(request, projection), OppgaveUtgaattMutationResponse.class).oppgaveUtgaatt());
     }
 
     public String oppdaterSakStatus(NyStatusSakMutationRequest request, NyStatusSakResultatResponseProjection projection) {
         LOG.info("FAGER: Oppdater sak status");
-        var resultat = query(new GraphQLRequest(request, projection), NyStatusSakMutationResponse.class).nyStatusSak();
-        if (resultat instanceof NyStatusSakVellykket vellykket) {
-            return vellykket.getId();
-        } else {
-            loggFeilmelding((Error) resultat, "ny status sak");
-        }
-        throw ulovligTilstandException();
+        return håndterNyStatusSak(query(new GraphQLRequest(request, projection), NyStatusSakMutationResponse.class).nyStatusSak());
     }
 
     public String slettSak(HardDeleteSakMutationRequest request, HardDeleteSakResultatResponseProjection projection) {
         LOG.info("FAGER: Utfører hard delete");
-        var resultat = query(new GraphQLRequest(request, projection), HardDeleteSakMutationResponse.class).hardDeleteSak();
-        if (resultat instanceof HardDeleteSakVellykket vellykket) {
-            return vellykket.getId();
-        } else {
-            loggFeilmelding((Error) resultat, "hard delete sak");
-        }
-        throw ulovligTilstandException();
+        return håndterHardDeleteSak(query(new GraphQLRequest(request, projection), HardDeleteSakMutationResponse.class).hardDeleteSak());
+    }
+
+    public String slettSakForGrupperingsid(HardDeleteSakByGrupperingsidMutationRequest request, HardDeleteSakResultatResponseProjection projection) {
+        LOG.info("FAGER: Utfører hard delete på grupperingsid");
+        return håndterHardDeleteSak(query(new GraphQLRequest(request, projection), HardDeleteSakByGrupperingsidMutationResponse.class)
+            .hardDeleteSakByGrupperingsid());
     }
 
     public String opprettBeskjedOgVarsling(NyBeskjedMutationRequest request, NyBeskjedResultatResponseProjection projection) {
         LOG.info("FAGER: Oppretter beskjed og ekstern varsling");
-        var resultat = query(new GraphQLRequest(request, projection), NyBeskjedMutationResponse.class).nyBeskjed();
-        if (resultat instanceof NyBeskjedVellykket vellykket) {
-            LOG.info("Vellykket opprettelse av beskjed");
-            return vellykket.getId();
-        } else {
-            loggFeilmelding((Error) resultat, "opprettelse av ny beskjed");
+        return håndterNyBeskjed(query(new GraphQLRequest(request, projection), NyBeskjedMutationResponse.class).nyBeskjed());
+    }
+
+    /**
+     * Sender flere mutasjoner som ett GraphQL-dokument. Fager utfører mutasjonene i rekkefølge, og svarene skilles på alias.
+     * Svarene tolkes først når de hentes fra {@link SamletSvar}, slik at kaller kan rydde opp etter delvis vellykkede kall.
+     */
+    public SamletSvar utførSamlet(List<Mutasjon<?>> mutasjoner) {
+        LOG.info("FAGER: Sender {} mutasjoner samlet: {}", mutasjoner.size(), mutasjoner.stream().map(Mutasjon::alias).toList());
+        var requests = new GraphQLRequests(mutasjoner.stream().map(Mutasjon::request).toArray(GraphQLRequest[]::new));
+        var data = query(requests.toHttpJsonBody(), SamletMutationResponse.class).getData();
+        return new SamletSvar(data == null ? Map.of() : data);
+    }
+
+    static Mutasjon<NySakResultat> nySak(NySakMutationRequest request, NySakResultatResponseProjection projection) {
+        return new Mutasjon<>(new GraphQLRequest(request, projection), NySakResultat.class, ArbeidsgiverNotifikasjonKlient::håndterNySak);
+    }
+
+    static Mutasjon<NyOppgaveResultat> nyOppgave(NyOppgaveMutationRequest request, NyOppgaveResultatResponseProjection projection) {
+        return new Mutasjon<>(new GraphQLRequest(request, projection), NyOppgaveResultat.class, ArbeidsgiverNotifikasjonKlient::håndterNyOppgave);
+    }
+
+    static Mutasjon<TilleggsinformasjonSakResultat> tilleggsinformasjonSak(TilleggsinformasjonSakMutationRequest request,
+                                                                          TilleggsinformasjonSakResultatResponseProjection projection) {
+        return new Mutasjon<>(new GraphQLRequest(request, projection), TilleggsinformasjonSakResultat.class,
+            ArbeidsgiverNotifikasjonKlient::håndterTilleggsinformasjonSak);
+    }
+
+    static Mutasjon<NyStatusSakResultat> nyStatusSak(NyStatusSakMutationRequest request, NyStatusSakResultatResponseProjection projection) {
+        return new Mutasjon<>(new GraphQLRequest(request, projection), NyStatusSakResultat.class, ArbeidsgiverNotifikasjonKlient::håndterNyStatusSak);
+    }
+
+    static Mutasjon<OppgaveUtfoertResultat> oppgaveUtført(OppgaveUtfoertMutationRequest request,
+                                                          OppgaveUtfoertResultatResponseProjection projection) {
+        return new Mutasjon<>(new GraphQLRequest(request, projection), OppgaveUtfoertResultat.class,
+            ArbeidsgiverNotifikasjonKlient::håndterOppgaveUtført);
+    }
+
+    static Mutasjon<OppgaveUtgaattResultat> oppgaveUtgått(OppgaveUtgaattMutationRequest request,
+                                                          OppgaveUtgaattResultatResponseProjection projection) {
+        return new Mutasjon<>(new GraphQLRequest(request, projection), OppgaveUtgaattResultat.class,
+            ArbeidsgiverNotifikasjonKlient::håndterOppgaveUtgått);
+    }
+
+    /**
+     * Én mutasjon i et samlet kall. Aliaset settes på requesten, og må være unikt innenfor kallet.
+     */
+    record Mutasjon<R>(GraphQLRequest request, Class<R> resultatType, Function<R, String> håndtering) {
+
+        String alias() {
+            return request.getRequest().getAlias();
         }
-        throw ulovligTilstandException();
+    }
+
+    static final class SamletSvar {
+        private final Map<String, JsonNode> resultatPerAlias;
+
+        SamletSvar(Map<String, JsonNode> resultatPerAlias) {
+            this.resultatPerAlias = resultatPerAlias;
+        }
+
+        /**
+         * @return id fra det vellykkede resultatet for mutasjonen, kaster samme feil som ved enkeltkall ellers
+         */
+        <R> String hent(Mutasjon<R> mutasjon) {
+            var resultat = resultatPerAlias.get(mutasjon.alias());
+            if (resultat == null || resultat.isNull()) {
+                throw new TekniskException("F-FAGER", "Mangler svar fra fager for " + mutasjon.alias());
+            }
+            return mutasjon.håndtering().apply(DefaultJsonMapper.getObjectMapper().convertValue(resultat, mutasjon.resultatType()));
+        }
+    }
+
+    static class SamletMutationResponse extends GraphQLResult<Map<String, JsonNode>> {
     }
 
     private <T extends GraphQLResult<?>> T query(GraphQLRequest req, Class<T> clazz) {
-        var method = new RestRequest.Method(RestRequest.WebMethod.POST, HttpRequest.BodyPublishers.ofString(req.toHttpJsonBody()));
+        return query(req.toHttpJsonBody(), clazz);
+    }
+
+    private <T extends GraphQLResult<?>> T query(String body, Class<T> clazz) {
+        var method = new RestRequest.Method(RestRequest.WebMethod.POST, HttpRequest.BodyPublishers.ofString(body));
         var restRequest = RestRequest.newRequest(method, restConfig.endpoint(), restConfig);
         var response = restKlient.sendReturnUnhandled(restRequest);
         if (LOG.isInfoEnabled()) {
@@ -162,6 +200,73 @@ class ArbeidsgiverNotifikasjonKlient {
         return DefaultJsonMapper.fromJson(response, clazz);
     }
 
+    private static String håndterNySak(NySakResultat resultat) {
+        if (resultat instanceof NySakVellykket vellykket) {
+            LOG.info("Vellykket opprettelse av sak");
+            return vellykket.getId();
+        }
+        loggFeilmelding((Error) resultat, "opprettelse av ny sak");
+        throw ulovligTilstandException();
+    }
+
+    private static String håndterTilleggsinformasjonSak(TilleggsinformasjonSakResultat resultat) {
+        if (resultat instanceof TilleggsinformasjonSakVellykket vellykket) {
+            return vellykket.getId();
+        }
+        loggFeilmelding((Error) resultat, "oppdater sak tillegsinformasjon");
+        throw ulovligTilstandException();
+    }
+
+    private static String håndterNyOppgave(NyOppgaveResultat resultat) {
+        if (resultat instanceof NyOppgaveVellykket vellykket) {
+            LOG.info("Vellykket opprettelse av oppgave");
+            return vellykket.getId();
+        }
+        loggFeilmelding((Error) resultat, "opprettelse av ny oppgave");
+        throw ulovligTilstandException();
+    }
+
+    private static String håndterOppgaveUtført(OppgaveUtfoertResultat resultat) {
+        if (resultat instanceof OppgaveUtfoertVellykket vellykket) {
+            return vellykket.getId();
+        }
+        loggFeilmelding((Error) resultat, "sett oppgave utført");
+        throw ulovligTilstandException();
+    }
+
+    private static String håndterOppgaveUtgått(OppgaveUtgaattResultat resultat) {
+        if (resultat instanceof OppgaveUtgaattVellykket vellykket) {
+            return vellykket.getId();
+        }
+        loggFeilmelding((Error) resultat, "sett oppgave utgått");
+        throw ulovligTilstandException();
+    }
+
+    private static String håndterNyStatusSak(NyStatusSakResultat resultat) {
+        if (resultat instanceof NyStatusSakVellykket vellykket) {
+            return vellykket.getId();
+        }
+        loggFeilmelding((Error) resultat, "ny status sak");
+        throw ulovligTilstandException();
+    }
+
+    private static String håndterHardDeleteSak(HardDeleteSakResultat resultat) {
+        if (resultat instanceof HardDeleteSakVellykket vellykket) {
+            return vellykket.getId();
+        }
+        loggFeilmelding((Error) resultat, "hard delete sak");
+        throw ulovligTilstandException();
+    }
+
+    private static String håndterNyBeskjed(NyBeskjedResultat resultat) {
+        if (resultat instanceof NyBeskjedVellykket vellykket) {
+            LOG.info("Vellykket opprettelse av beskjed");
+            return vellykket.getId();
+        }
+        loggFeilmelding((Error) resultat, "opprettelse av ny beskjed");
+        throw ulovligTilstandException();
+    }
+
     private static IllegalStateException ulovligTilstandException() {
         return new IllegalStateException("Utviklerfeil: Ulovlig tilstand.");
     }
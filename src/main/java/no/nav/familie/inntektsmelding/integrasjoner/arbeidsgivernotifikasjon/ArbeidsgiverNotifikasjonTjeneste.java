@@ -5,16 +5,22 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import no.nav.foreldrepenger.konfig.Environment;
 
 @ApplicationScoped
 class ArbeidsgiverNotifikasjonTjeneste implements ArbeidsgiverNotifikasjon {
+    private static final Logger LOG = LoggerFactory.getLogger(ArbeidsgiverNotifikasjonTjeneste.class);
 
     static final String SERVICE_CODE = "4936";
     static final String SERVICE_EDITION_CODE = "1";
@@ -23,6 +29,12 @@ class ArbeidsgiverNotifikasjonTjeneste implements ArbeidsgiverNotifikasjon {
     static final Sendevindu VARSEL_SENDEVINDU = Sendevindu.LOEPENDE;
     static final int PÅMINNELSE_ETTER_DAGER = Environment.current().getProperty("paaminnelse.etter.dager", int.class, 14);
 
+    // Aliaser for mutasjoner som sendes samlet i ett kall
+    private static final String ALIAS_SAK = "sak";
+    private static final String ALIAS_OPPGAVE = "oppgave";
+    private static final String ALIAS_STATUS = "status";
+    private static final String ALIAS_TILLEGGSINFORMASJON = "tilleggsinformasjon";
+
     private ArbeidsgiverNotifikasjonKlient klient;
 
     @Inject
@@ -32,10 +44,70 @@ class ArbeidsgiverNotifikasjonTjeneste implements ArbeidsgiverNotifikasjon {
 
     @Override
     public String opprettSak(String grupperingsid, Merkelapp merkelapp, String virksomhetsnummer, String saksTittel, URI lenke) {
+        var request = lagNySakRequest(null, grupperingsid, merkelapp, virksomhetsnummer, saksTittel, null, lenke);
+        return klient.opprettSak(request, lagNySakProjection());
+    }
+
+    @Override
+    public SakOgOppgave opprettSakOgOppgave(String grupperingsid,
+                                            Merkelapp merkelapp,
+                                            String virksomhetsnummer,
+                                            String saksTittel,
+                                            String tilleggsinformasjon,
+                                            String eksternId,
+                                            String oppgaveTekst,
+                                            String varselTekst,
+                                            String påminnelseTekst,
+                                            URI lenke) {
+        var sak = ArbeidsgiverNotifikasjonKlient.nySak(
+            lagNySakRequest(ALIAS_SAK, grupperingsid, merkelapp, virksomhetsnummer, saksTittel, tilleggsinformasjon, lenke),
+            lagNySakProjection());
+        var oppgave = ArbeidsgiverNotifikasjonKlient.nyOppgave(
+            lagNyOppgaveRequest(ALIAS_OPPGAVE, grupperingsid, merkelapp, eksternId, virksomhetsnummer, oppgaveTekst, varselTekst, påminnelseTekst,
+                lenke), lagNyOppgaveProjection());
+
+        ArbeidsgiverNotifikasjonKlient.SamletSvar svar;
+        try {
+            svar = klient.utførSamlet(List.of(sak, oppgave));
+        } catch (RuntimeException e) {
+            // Vi vet ikke om saken ble opprettet. Grupperingsid er ny for hver forespørsel, så vi kan trygt rydde på den.
+            slettSakForGrupperingsid(grupperingsid, merkelapp);
+            throw e;
+        }
+        var sakId = svar.hent(sak);
+        try {
+            return new SakOgOppgave(sakId, svar.hent(oppgave));
+        } catch (RuntimeException e) {
+            //Manuell rollback er nødvendig fordi sak og oppgave er to mutasjoner
+            slettSak(sakId);
+            throw e;
+        }
+    }
 
-        var request = NySakMutationRequest.builder()
+    private void slettSakForGrupperingsid(String grupperingsid, Merkelapp merkelapp) {
+        try {
+            var request = HardDeleteSakByGrupperingsidMutationRequest.builder()
+                .setGrupperingsid(grupperingsid)
+                .setMerkelapp(merkelapp.getBeskrivelse())
+                .build();
+            klient.slettSakForGrupperingsid(request, lagHardDeleteSakProjection());
+        } catch (RuntimeException e) {
+            LOG.warn("FAGER: Klarte ikke å rydde bort sak med grupperingsid {}", grupperingsid, e);
+        }
+    }
+
+    private static NySakMutationRequest lagNySakRequest(String alias,
+                                                        String grupperingsid,
+                                                        Merkelapp merkelapp,
+                                                        String virksomhetsnummer,
+                                                        String saksTittel,
+                                                        String tilleggsinformasjon,
+                                                        URI lenke) {
+        return NySakMutationRequest.builder()
+            .alias(alias)
             .setGrupperingsid(grupperingsid)
             .setTittel(saksTittel)
+            .setTilleggsinformasjon(tilleggsinformasjon)
             .setVirksomhetsnummer(virksomhetsnummer)
             .setMerkelapp(merkelapp.getBeskrivelse())
             .setLenke(lenke.toString())
@@ -43,8 +115,10 @@ class ArbeidsgiverNotifikasjonTjeneste implements ArbeidsgiverNotifikasjon {
             .setOverstyrStatustekstMed(SAK_STATUS_TEKST)
             .setMottakere(List.of(lagAltinnMottakerInput()))
             .build();
+    }
 
-        var projection = new NySakResultatResponseProjection().typename()
+    private static NySakResultatResponseProjection lagNySakProjection() {
+        return new NySakResultatResponseProjection().typename()
             .onNySakVellykket(new NySakVellykketResponseProjection().id())
             .onUgyldigMerkelapp(new UgyldigMerkelappResponseProjection().feilmelding())
             .onUgyldigMottaker(new UgyldigMottakerResponseProjection().feilmelding())
@@ -52,8 +126,6 @@ class ArbeidsgiverNotifikasjonTjeneste implements ArbeidsgiverNotifikasjon {
             .onDuplikatGrupperingsidEtterDelete(new DuplikatGrupperingsidEtterDeleteResponseProjection().feilmelding())
             .onUkjentProdusent(new UkjentProdusentResponseProjection().feilmelding())
             .onUkjentRolle(new UkjentRolleResponseProjection().feilmelding());
-
-        return klient.opprettSak(request, projection);
     }
 
     @Override
@@ -65,8 +137,22 @@ class ArbeidsgiverNotifikasjonTjeneste implements ArbeidsgiverNotifikasjon {
                                  String varselTekst,
                                  String påminnelseTekst,
                                  URI oppgaveLenke) {
+        var request = lagNyOppgaveRequest(null, grupperingsid, oppgaveMerkelapp, eksternId, virksomhetsnummer, oppgaveTekst, varselTekst,
+            påminnelseTekst, oppgaveLenke);
+        return klient.opprettOppgave(request, lagNyOppgaveProjection());
+    }
 
-        var request = NyOppgaveMutationRequest.builder()
+    private static NyOppgaveMutationRequest lagNyOppgaveRequest(String alias,
+                                                                String grupperingsid,
+                                                                Merkelapp oppgaveMerkelapp,
+                                                                String eksternId,
+                                                                String virksomhetsnummer,
+                                                                String oppgaveTekst,
+                                                                String varselTekst,
+                                                                String påminnelseTekst,
+                                                                URI oppgaveLenke) {
+        return NyOppgaveMutationRequest.builder()
+            .alias(alias)
             .setNyOppgave(NyOppgaveInput.builder()
                 .setMottaker(lagAltinnMottakerInput())
                 .setNotifikasjon(NotifikasjonInput.builder()
@@ -86,9 +172,10 @@ class ArbeidsgiverNotifikasjonTjeneste implements ArbeidsgiverNotifikasjon {
                     .build())
                 .build())
             .build();
+    }
 
-
-        var projection = new NyOppgaveResultatResponseProjection().typename()
+    private static NyOppgaveResultatResponseProjection lagNyOppgaveProjection() {
+        return new NyOppgaveResultatResponseProjection().typename()
             .onNyOppgaveVellykket(new NyOppgaveVellykketResponseProjection().id())
             .onUgyldigMerkelapp(new UgyldigMerkelappResponseProjection().feilmelding())
             .onUgyldigMottaker(new UgyldigMottakerResponseProjection().feilmelding())
@@ -96,8 +183,6 @@ class ArbeidsgiverNotifikasjonTjeneste implements ArbeidsgiverNotifikasjon {
             .onUkjentProdusent(new UkjentProdusentResponseProjection().feilmelding())
             .onUkjentRolle(new UkjentRolleResponseProjection().feilmelding())
             .onUgyldigPaaminnelseTidspunkt(new UgyldigPaaminnelseTidspunktResponseProjection().feilmelding());
-
-        return klient.opprettOppgave(request, projection);
     }
 
     @Override
@@ -171,42 +256,94 @@ class ArbeidsgiverNotifikasjonTjeneste implements ArbeidsgiverNotifikasjon {
 
     @Override
     public String oppgaveUtført(String oppgaveId, OffsetDateTime tidspunkt) {
+        return klient.oppgaveUtført(lagOppgaveUtførtRequest(null, oppgaveId, tidspunkt), lagOppgaveUtførtProjection());
+    }
+
+    @Override
+    public String oppgaveUtgått(String oppgaveId, OffsetDateTime tidspunkt) {
+        return klient.oppgaveUtgått(lagOppgaveUtgåttRequest(null, oppgaveId, tidspunkt), lagOppgaveUtgåttProjection());
+    }
+
+    @Override
+    public String ferdigstillSak(String id, boolean arbeidsgiverInitiert) {
+        return klient.oppdaterSakStatus(lagFerdigstillSakRequest(null, id, arbeidsgiverInitiert), lagNyStatusSakProjection());
+    }
+
+    @Override
+    public String oppdaterSakTilleggsinformasjon(String id, String tilleggsinformasjon) {
+        return klient.oppdaterSakTilleggsinformasjon(lagTilleggsinformasjonRequest(null, id, tilleggsinformasjon), lagTilleggsinformasjonProjection());
+    }
+
+    @Override
+    public void ferdigstillSakOgOppgave(String sakId,
+                                        Optional<String> oppgaveId,
+                                        OffsetDateTime utførtTidspunkt,
+                                        boolean arbeidsgiverInitiert,
+                                        String tilleggsinformasjon) {
+        var mutasjoner = new ArrayList<ArbeidsgiverNotifikasjonKlient.Mutasjon<?>>();
+        oppgaveId.ifPresent(id -> mutasjoner.add(
+            ArbeidsgiverNotifikasjonKlient.oppgaveUtført(lagOppgaveUtførtRequest(ALIAS_OPPGAVE, id, utførtTidspunkt), lagOppgaveUtførtProjection())));
+        mutasjoner.add(ArbeidsgiverNotifikasjonKlient.nyStatusSak(lagFerdigstillSakRequest(ALIAS_STATUS, sakId, arbeidsgiverInitiert),
+            lagNyStatusSakProjection()));
+        mutasjoner.add(ArbeidsgiverNotifikasjonKlient.tilleggsinformasjonSak(
+            lagTilleggsinformasjonRequest(ALIAS_TILLEGGSINFORMASJON, sakId, tilleggsinformasjon), lagTilleggsinformasjonProjection()));
+        utførOgKontroller(mutasjoner);
+    }
+
+    @Override
+    public void settSakOgOppgaveTilUtgått(String sakId, Optional<String> oppgaveId, OffsetDateTime utgåttTidspunkt, String tilleggsinformasjon) {
+        var mutasjoner = new ArrayList<ArbeidsgiverNotifikasjonKlient.Mutasjon<?>>();
+        oppgaveId.ifPresent(id -> mutasjoner.add(
+            ArbeidsgiverNotifikasjonKlient.oppgaveUtgått(lagOppgaveUtgåttRequest(ALIAS_OPPGAVE, id, utgåttTidspunkt), lagOppgaveUtgåttProjection())));
+        mutasjoner.add(ArbeidsgiverNotifikasjonKlient.nyStatusSak(lagFerdigstillSakRequest(ALIAS_STATUS, sakId, false), lagNyStatusSakProjection()));
+        mutasjoner.add(ArbeidsgiverNotifikasjonKlient.tilleggsinformasjonSak(
+            lagTilleggsinformasjonRequest(ALIAS_TILLEGGSINFORMASJON, sakId, tilleggsinformasjon), lagTilleggsinformasjonProjection()));
+        utførOgKontroller(mutasjoner);
+    }
 
-        var request = OppgaveUtfoertMutationRequest.builder()
+    /**
+     * Sender mutasjonene i ett kall og kontrollerer hvert svar, slik at en funksjonell feil på én av dem gir samme feil som ved enkeltkall.
+     */
+    private void utførOgKontroller(List<ArbeidsgiverNotifikasjonKlient.Mutasjon<?>> mutasjoner) {
+        var svar = klient.utførSamlet(mutasjoner);
+        mutasjoner.forEach(svar::hent);
+    }
+
+    private static OppgaveUtfoertMutationRequest lagOppgaveUtførtRequest(String alias, String oppgaveId, OffsetDateTime tidspunkt) {
+        return OppgaveUtfoertMutationRequest.builder()
+            .alias(alias)
             .setId(oppgaveId)
             .setUtfoertTidspunkt(tidspunkt.format(DateTimeFormatter.ISO_DATE_TIME))
             .build();
+    }
 
-        var projection = new OppgaveUtfoertResultatResponseProjection().typename()
+    private static OppgaveUtfoertResultatResponseProjection lagOppgaveUtførtProjection() {
+        return new OppgaveUtfoertResultatResponseProjection().typename()
             .onOppgaveUtfoertVellykket(new OppgaveUtfoertVellykketResponseProjection().id())
             .onUgyldigMerkelapp(new UgyldigMerkelappResponseProjection().feilmelding())
             .onNotifikasjonFinnesIkke(new NotifikasjonFinnesIkkeResponseProjection().feilmelding())
             .onUkjentProdusent(new UkjentProdusentResponseProjection().feilmelding());
-
-        return klient.oppgaveUtført(request, projection);
     }
 
-    @Override
-    public String oppgaveUtgått(String oppgaveId, OffsetDateTime tidspunkt) {
-
-        var request = OppgaveUtgaattMutationRequest.builder()
+    private static OppgaveUtgaattMutationRequest lagOppgaveUtgåttRequest(String alias, String oppgaveId, OffsetDateTime tidspunkt) {
+        return OppgaveUtgaattMutationRequest.builder()
+            .alias(alias)
             .setId(oppgaveId)
             .setUtgaattTidspunkt(tidspunkt.format(DateTimeFormatter.ISO_DATE_TIME))
             .build();
+    }
 
-        var projection = new OppgaveUtgaattResultatResponseProjection().typename()
+    private static OppgaveUtgaattResultatResponseProjection lagOppgaveUtgåttProjection() {
+        return new OppgaveUtgaattResultatResponseProjection().typename()
             .onOppgaveUtgaattVellykket(new OppgaveUtgaattVellykketResponseProjection().id())
             .onUgyldigMerkelapp(new UgyldigMerkelappResponseProjection().feilmelding())
             .onNotifikasjonFinnesIkke(new NotifikasjonFinnesIkkeResponseProjection().feilmelding())
             .onUkjentProdusent(new UkjentProdusentResponseProjection().feilmelding());
-
-        return klient.oppgaveUtgått(request, projection);
     }
 
-    @Override
-    public String ferdigstillSak(String id, boolean arbeidsgiverInitiert) {
-
+    private static NyStatusSakMutationRequest lagFerdigstillSakRequest(String alias, String id, boolean arbeidsgiverInitiert) {
         var requestBuilder = NyStatusSakMutationRequest.builder()
+            .alias(alias)
             .setId(id)
             .setNyStatus(SaksStatus.FERDIG);
 
@@ -215,39 +352,43 @@ class ArbeidsgiverNotifikasjonTjeneste implements ArbeidsgiverNotifikasjon {
         } else {
             requestBuilder.setOverstyrStatustekstMed(SAK_STATUS_TEKST);
         }
-        var projection = new NyStatusSakResultatResponseProjection().typename()
+        return requestBuilder.build();
+    }
+
+    private static NyStatusSakResultatResponseProjection lagNyStatusSakProjection() {
+        return new NyStatusSakResultatResponseProjection().typename()
             .onNyStatusSakVellykket(new NyStatusSakVellykketResponseProjection().id())
             .onUgyldigMerkelapp(new UgyldigMerkelappResponseProjection().feilmelding())
             .onKonflikt(new KonfliktResponseProjection().feilmelding())
             .onUkjentProdusent(new UkjentProdusentResponseProjection().feilmelding())
             .onSakFinnesIkke(new SakFinnesIkkeResponseProjection().feilmelding());
-
-        return klient.oppdaterSakStatus(requestBuilder.build(), projection);
     }
 
-    @Override
-    public String oppdaterSakTilleggsinformasjon(String id, String tilleggsinformasjon) {
-        var request = TilleggsinformasjonSakMutationRequest.builder().setId(id).setTilleggsinformasjon(tilleggsinformasjon).build();
+    private static TilleggsinformasjonSakMutationRequest lagTilleggsinformasjonRequest(String alias, String id, String tilleggsinformasjon) {
+        return TilleggsinformasjonSakMutationRequest.builder().alias(alias).setId(id).setTilleggsinformasjon(tilleggsinformasjon).build();
+    }
 
-        var projection = new TilleggsinformasjonSakResultatResponseProjection().typename()
+    private static TilleggsinformasjonSakResultatResponseProjection lagTilleggsinformasjonProjection() {
+        return new TilleggsinformasjonSakResultatResponseProjection().typename()
             .onTilleggsinformasjonSakVellykket(new TilleggsinformasjonSakVellykketResponseProjection().id())
             .onSakFinnesIkke(new SakFinnesIkkeResponseProjection().feilmelding())
             .onKonflikt(new KonfliktResponseProjection().feilmelding())
             .onUgyldigMerkelapp(new UgyldigMerkelappResponseProjection().feilmelding())
             .onUkjentProdusent(new UkjentProdusentResponseProjection().feilmelding());
-
-        return klient.oppdaterSakTilleggsinformasjon(request, projection);
     }
 
     @Override
     public String slettSak(String id) {
         var request = HardDeleteSakMutationRequest.builder().setId(id).build();
-        var projection = new HardDeleteSakResultatResponseProjection().typename()
+        return klient.slettSak(request, lagHardDeleteSakProjection());
+    }
+
+    private static HardDeleteSakResultatResponseProjection lagHardDeleteSakProjection() {
+        return new HardDeleteSakResultatResponseProjection().typename()
             .onHardDeleteSakVellykket(new HardDeleteSakVellykketResponseProjection().id())
             .onUgyldigMerkelapp(new UgyldigMerkelappResponseProjection().feilmelding())
             .onUkjentProdusent(new UkjentProdusentResponseProjection().feilmelding())
             .onSakFinnesIkke(new SakFinnesIkkeResponseProjection().feilmelding());
-        return klient.slettSak(request, projection);
     }
 
 }
@@ -0,0 +1,4 @@
+package no.nav.familie.inntektsmelding.integrasjoner.arbeidsgivernotifikasjon;
+
+public record SakOgOppgave(String sakId, String oppgaveId) {
+}
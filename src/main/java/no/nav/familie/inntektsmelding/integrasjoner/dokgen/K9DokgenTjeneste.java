@@ -1,5 +1,12 @@
 package no.nav.familie.inntektsmelding.integrasjoner.dokgen;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -7,11 +14,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingEntitet;
+import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingPdfEntitet;
+import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingRepository;
 import no.nav.familie.inntektsmelding.integrasjoner.organisasjon.OrganisasjonTjeneste;
 import no.nav.familie.inntektsmelding.integrasjoner.person.PersonIdent;
 import no.nav.familie.inntektsmelding.integrasjoner.person.PersonInfo;
 import no.nav.familie.inntektsmelding.integrasjoner.person.PersonTjeneste;
 import no.nav.familie.inntektsmelding.typer.OrganisasjonsnummerValidator;
+import no.nav.foreldrepenger.konfig.KonfigVerdi;
 import no.nav.vedtak.exception.TekniskException;
 import no.nav.vedtak.mapper.json.DefaultJsonMapper;
 
@@ -22,16 +32,24 @@ public class K9DokgenTjeneste {
     private K9DokgenKlient k9DokgenKlient;
     private PersonTjeneste personTjeneste;
     private OrganisasjonTjeneste organisasjonTjeneste;
+    private InntektsmeldingRepository inntektsmeldingRepository;
+    private String malVersjon;
 
     K9DokgenTjeneste() {
         //CDI
     }
 
     @Inject
-    public K9DokgenTjeneste(K9DokgenKlient k9DokgenKlient, PersonTjeneste personTjeneste, OrganisasjonTjeneste organisasjonTjeneste) {
+    public K9DokgenTjeneste(K9DokgenKlient k9DokgenKlient,
+                            PersonTjeneste personTjeneste,
+                            OrganisasjonTjeneste organisasjonTjeneste,
+                            InntektsmeldingRepository inntektsmeldingRepository,
+                            @KonfigVerdi(value = "pdf.template.versjon", defaultVerdi = "1") String malVersjon) {
         this.k9DokgenKlient = k9DokgenKlient;
         this.personTjeneste = personTjeneste;
         this.organisasjonTjeneste = organisasjonTjeneste;
+        this.inntektsmeldingRepository = inntektsmeldingRepository;
+        this.malVersjon = malVersjon;
     }
 
     public byte[] mapDataOgGenererPdf(InntektsmeldingEntitet inntektsmelding) {
@@ -40,12 +58,59 @@ public class K9DokgenTjeneste {
         var arbeidsgvierIdent = inntektsmelding.getArbeidsgiverIdent();
         var inntektsmeldingsid = inntektsmelding.getId() != null ? inntektsmelding.getId().intValue() : 1;
 
+        // Navnene fra PDL og Enhetsregisteret er en del av dokumentet og dermed av hashen, så de må slås opp før lagret pdf kan gjenbrukes
         personInfo = personTjeneste.hentPersonInfoFraAktørId(inntektsmelding.getAktørId(), inntektsmelding.getYtelsetype());
         arbeidsgiverNavn = finnArbeidsgiverNavn(inntektsmelding, arbeidsgvierIdent);
 
         var imDokumentdata = InntektsmeldingPdfDataMapper.mapInntektsmeldingData(inntektsmelding, arbeidsgiverNavn, personInfo, arbeidsgvierIdent);
 
-        return genererPdf(imDokumentdata, inntektsmeldingsid);
+        if (inntektsmelding.getId() == null) {
+            return genererPdf(imDokumentdata, inntektsmeldingsid);
+        }
+
+        // Pdf-en gjenbrukes så lenge dataene og malen den er generert fra er uendret
+        var innholdHash = lagInnholdHash(imDokumentdata);
+        var lagretPdf = inntektsmeldingRepository.hentPdf(inntektsmelding.getId(), innholdHash);
+        if (lagretPdf.isPresent()) {
+            LOG.info("Gjenbruker lagret pdf av inntektsmelding med id {}", inntektsmeldingsid);
+            return lagretPdf.get().getPdf();
+        }
+        var pdf = genererPdf(imDokumentdata, inntektsmeldingsid);
+        inntektsmeldingRepository.lagrePdf(new InntektsmeldingPdfEntitet(inntektsmelding, innholdHash, malVersjon, pdf, sha256(pdf)));
+        return pdf;
+    }
+
+    /**
+     * Henter sist lagrede pdf generert med gjeldende mal, uten å slå opp data på nytt.
+     * Pdf-en som leveres er dermed den samme som ble journalført.
+     */
+    public Optional<byte[]> hentLagretPdf(long inntektsmeldingId) {
+        return inntektsmeldingRepository.hentSistLagredePdf(inntektsmeldingId, malVersjon)
+            .filter(lagret -> erIntakt(lagret, inntektsmeldingId))
+            .map(InntektsmeldingPdfEntitet::getPdf);
+    }
+
+    private boolean erIntakt(InntektsmeldingPdfEntitet lagret, long inntektsmeldingId) {
+        var pdf = lagret.getPdf();
+        if (pdf.length != lagret.getStørrelse() || !sha256(pdf).equals(lagret.getSjekksum())) {
+            LOG.warn("Lagret pdf av inntektsmelding med id {} stemmer ikke med sjekksum, genererer på nytt", inntektsmeldingId);
+            return false;
+        }
+        return true;
+    }
+
+    private String lagInnholdHash(InntektsmeldingPdfData imDokumentData) {
+        return sha256(malVersjon.getBytes(StandardCharsets.UTF_8), DefaultJsonMapper.toJson(imDokumentData).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[]... innhold) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            Arrays.stream(innhold).forEach(digest::update);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Mangler støtte for SHA-256", e);
+        }
     }
 
     private byte[] genererPdf(InntektsmeldingPdfData imDokumentData, int inntektsmeldingId) {
@@ -1,7 +1,15 @@
 package no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent;
 
 import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
 
-public record FinnInntektRequest(String aktørId, YearMonth fom, YearMonth tom) {
-}
+/**
+ * @param organisasjonsnumre sendes ikke til inntektskomponenten, men brukes til å filtrere bort inntekter fra andre virksomheter når responsen leses
+ */
+public record FinnInntektRequest(List<String> aktørIder, YearMonth fom, YearMonth tom, Set<String> organisasjonsnumre) {
 
+    public FinnInntektRequest(String aktørId, YearMonth fom, YearMonth tom, String organisasjonsnummer) {
+        this(List.of(aktørId), fom, tom, Set.of(organisasjonsnummer));
+    }
+}
@@ -0,0 +1,134 @@
+package no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import no.nav.tjenester.aordningen.inntektsinformasjon.response.HentInntektListeBolkResponse;
+
+/**
+ * Samler oppslag mot inntektskomponenten som kommer innenfor et kort tidsvindu til ett bolk-kall.
+ * Første oppslag i en bolk gjør kallet på vegne av alle, med sin egen kontekst. Vinduet ventes kun ut når andre kall allerede pågår,
+ * slik at et enkeltstående oppslag ikke får ekstra ventetid, mens oppslag under last samles.
+ * Perioden i kallet dekker alle periodene det er spurt om, så hver innkaller må selv filtrere bort måneder den ikke ba om.
+ * Sikkerhetsavvik som ikke kan knyttes til en av identene i bolken gjør at hver innkaller slår opp på nytt alene.
+ */
+class InntektBolkSamler {
+    private static final Logger LOG = LoggerFactory.getLogger(InntektBolkSamler.class);
+
+    private final Function<FinnInntektRequest, HentInntektListeBolkResponse> oppslag;
+    private final Duration vindu;
+    private final int maksAntallIdenter;
+    private Bolk åpenBolk;
+    private int antallPågåendeKall;
+
+    private static final class Bolk {
+        private final Set<String> aktørIder = new LinkedHashSet<>();
+        private final Set<String> organisasjonsnumre = new LinkedHashSet<>();
+        private final CompletableFuture<HentInntektListeBolkResponse> resultat = new CompletableFuture<>();
+        private YearMonth fom;
+        private YearMonth tom;
+
+        private void leggTil(String aktørId, String organisasjonsnummer, YearMonth fom, YearMonth tom) {
+            aktørIder.add(aktørId);
+            organisasjonsnumre.add(organisasjonsnummer);
+            this.fom = this.fom == null || fom.isBefore(this.fom) ? fom : this.fom;
+            this.tom = this.tom == null || tom.isAfter(this.tom) ? tom : this.tom;
+        }
+    }
+
+    InntektBolkSamler(Function<FinnInntektRequest, HentInntektListeBolkResponse> oppslag, Duration vindu, int maksAntallIdenter) {
+        this.oppslag = oppslag;
+        this.vindu = vindu;
+        this.maksAntallIdenter = maksAntallIdenter;
+    }
+
+    HentInntektListeBolkResponse hent(String aktørId, String organisasjonsnummer, YearMonth fom, YearMonth tom) {
+        if (vindu.isZero()) {
+            return oppslag.apply(new FinnInntektRequest(aktørId, fom, tom, organisasjonsnummer));
+        }
+        Bolk bolk;
+        boolean skalUtføre;
+        boolean skalVente = false;
+        synchronized (this) {
+            skalUtføre = åpenBolk == null;
+            if (skalUtføre) {
+                åpenBolk = new Bolk();
+                skalVente = antallPågåendeKall > 0;
+            }
+            bolk = åpenBolk;
+            bolk.leggTil(aktørId, organisasjonsnummer, fom, tom);
+            if (bolk.aktørIder.size() >= maksAntallIdenter) {
+                åpenBolk = null;
+            }
+        }
+        var respons = skalUtføre ? utfør(bolk, skalVente) : vent(bolk);
+        if (bolk.aktørIder.size() > 1 && harSikkerhetsavvikUtenKjentIdent(respons, bolk.aktørIder)) {
+            LOG.info("Sikkerhetsavvik i bolk-kall kan ikke knyttes til en ident, henter inntekt på nytt for hver aktør alene");
+            return oppslag.apply(new FinnInntektRequest(aktørId, fom, tom, organisasjonsnummer));
+        }
+        return respons;
+    }
+
+    private HentInntektListeBolkResponse utfør(Bolk bolk, boolean skalVente) {
+        if (skalVente) {
+            ventUtVinduet();
+        }
+        FinnInntektRequest request;
+        synchronized (this) {
+            if (åpenBolk == bolk) {
+                åpenBolk = null;
+            }
+            antallPågåendeKall++;
+            request = new FinnInntektRequest(List.copyOf(bolk.aktørIder), bolk.fom, bolk.tom, Set.copyOf(bolk.organisasjonsnumre));
+        }
+        if (request.aktørIder().size() > 1) {
+            LOG.info("Henter inntekt for {} aktører i ett kall", request.aktørIder().size());
+        }
+        try {
+            var respons = oppslag.apply(request);
+            bolk.resultat.complete(respons);
+            return respons;
+        } catch (RuntimeException e) {
+            bolk.resultat.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (this) {
+                antallPågåendeKall--;
+            }
+        }
+    }
+
+    private static boolean harSikkerhetsavvikUtenKjentIdent(HentInntektListeBolkResponse respons, Set<String> aktørIder) {
+        var sikkerhetsavvik = respons.getSikkerhetsavvikListe();
+        return sikkerhetsavvik != null && sikkerhetsavvik.stream()
+            .anyMatch(avvik -> avvik.getIdent() == null || !aktørIder.contains(avvik.getIdent().getIdentifikator()));
+    }
+
+    private static HentInntektListeBolkResponse vent(Bolk bolk) {
+        try {
+            return bolk.resultat.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    private void ventUtVinduet() {
+        try {
+            Thread.sleep(vindu);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
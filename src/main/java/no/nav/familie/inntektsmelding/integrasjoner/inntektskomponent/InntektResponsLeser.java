@@ -0,0 +1,76 @@
+package no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektInformasjon;
+import no.nav.tjenester.aordningen.inntektsinformasjon.inntekt.Inntekt;
+import no.nav.tjenester.aordningen.inntektsinformasjon.inntekt.InntektType;
+import no.nav.tjenester.aordningen.inntektsinformasjon.response.HentInntektListeBolkResponse;
+import no.nav.vedtak.mapper.json.DefaultJsonMapper;
+
+/**
+ * Leser svaret fra inntektskomponenten og beholder kun lønnsinntekt fra virksomhetene det er spurt om.
+ * Inntektslistene filtreres mens de leses, slik at inntekter fra andre virksomheter og av andre typer aldri blir liggende i minnet
+ * som del av responsen. For ansatte i store konsern utgjør disse som regel det meste av svaret.
+ * Svaret leses direkte fra strømmen, slik at heller ikke rå-responsen holdes i minnet i sin helhet.
+ */
+final class InntektResponsLeser {
+
+    private static final String ORGANISASJONSNUMRE = "organisasjonsnumre";
+
+    private static final ObjectReader LESER = DefaultJsonMapper.getObjectMapper()
+        .copy()
+        .addMixIn(ArbeidsInntektInformasjon.class, ArbeidsInntektInformasjonMixIn.class)
+        .readerFor(HentInntektListeBolkResponse.class);
+
+    private InntektResponsLeser() {
+        // Skjul konstruktor
+    }
+
+    static HentInntektListeBolkResponse les(InputStream respons, Set<String> organisasjonsnumre) throws IOException {
+        return LESER.withAttribute(ORGANISASJONSNUMRE, organisasjonsnumre).readValue(respons);
+    }
+
+    private abstract static class ArbeidsInntektInformasjonMixIn {
+        @JsonDeserialize(using = LønnsinntektFilter.class)
+        private List<Inntekt> inntektListe;
+    }
+
+    static class LønnsinntektFilter extends JsonDeserializer<List<Inntekt>> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<Inntekt> deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (List<Inntekt>) ctxt.handleUnexpectedToken(List.class, parser);
+            }
+            var organisasjonsnumre = (Set<String>) ctxt.getAttribute(ORGANISASJONSNUMRE);
+            var beholdte = new ArrayList<Inntekt>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                var inntekt = ctxt.readValue(parser, Inntekt.class);
+                if (skalBeholdes(inntekt, organisasjonsnumre)) {
+                    beholdte.add(inntekt);
+                }
+            }
+            return beholdte;
+        }
+
+        private static boolean skalBeholdes(Inntekt inntekt, Set<String> organisasjonsnumre) {
+            return inntekt != null
+                && InntektType.LOENNSINNTEKT.equals(inntekt.getInntektType())
+                && inntekt.getVirksomhet() != null
+                && (organisasjonsnumre == null || organisasjonsnumre.contains(inntekt.getVirksomhet().getIdentifikator()));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
@@ -10,8 +11,9 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -19,20 +21,54 @@ import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import no.nav.familie.inntektsmelding.metrikker.MetrikkerTjeneste;
 import no.nav.familie.inntektsmelding.typer.dto.MånedslønnStatus;
 import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
-import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektIdent;
+import no.nav.familie.inntektsmelding.utils.ParallellKjøring;
+import no.nav.foreldrepenger.konfig.Environment;
+import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektMaaned;
+import no.nav.tjenester.aordningen.inntektsinformasjon.Sikkerhetsavvik;
 import no.nav.tjenester.aordningen.inntektsinformasjon.inntekt.Inntekt;
 import no.nav.tjenester.aordningen.inntektsinformasjon.inntekt.InntektType;
 import no.nav.tjenester.aordningen.inntektsinformasjon.response.HentInntektListeBolkResponse;
 import no.nav.vedtak.exception.IntegrasjonException;
 import no.nav.vedtak.exception.TekniskException;
+import no.nav.vedtak.util.LRUCache;
 
 @ApplicationScoped
 public class InntektTjeneste {
     private static final Logger LOG = LoggerFactory.getLogger(InntektTjeneste.class);
+    private static final Environment ENV = Environment.current();
     private static final int DAG_I_MÅNED_RAPPORTERINGSFRIST = 5;
-    private InntektskomponentKlient inntektskomponentKlient;
+    private static final Duration BOLK_VINDU = Duration.ofMillis(ENV.getProperty("inntektskomponent.bolk.vindu.millis", int.class, 10));
+    private static final int BOLK_MAKS_ANTALL_IDENTER = ENV.getProperty("inntektskomponent.bolk.maks.identer", int.class, 100);
+    private static final String CACHE_NAVN = "inntekt";
+    private static final int CACHE_STØRRELSE = ENV.getProperty("inntekt.cache.stoerrelse", int.class, 5_000);
+    private static final Duration CACHE_LEVETID = Duration.ofMinutes(ENV.getProperty("inntekt.cache.levetid.minutter", int.class, 10));
+    private static final Duration SIST_KJENTE_LEVETID = Duration.ofHours(ENV.getProperty("inntekt.sistkjente.levetid.timer", int.class, 24));
+    private static final Duration TIDSAVBRUDD_OPPFRISKING = Duration.ofSeconds(30);
+    private static final String SIKKERHETSAVVIK_KODE = "K9-535194";
+    // Feil der inntektskomponenten svarer, men ikke vil eller kan gi ut opplysningene. Sist kjente opplysninger skal da ikke brukes.
+    private static final Set<String> IKKE_NEDETID_KODER = Set.of(SIKKERHETSAVVIK_KODE, InntektskomponentKlient.AVVIST_KODE,
+        InntektskomponentKlient.LESEFEIL_KODE);
+
+    /**
+     * Alt i beregningen som avhenger av dagens dato, avhenger kun av hvilke rapporteringsfrister som er passert.
+     * Nøkkelen endres derfor nøyaktig når en ny frist passeres.
+     */
+    private record CacheNøkkel(String aktørId, String organisasjonsnummer, LocalDate skjæringstidspunkt, YearMonth sisteMånedMedPassertFrist) {
+        private SistKjenteNøkkel utenFrist() {
+            return new SistKjenteNøkkel(aktørId, organisasjonsnummer, skjæringstidspunkt);
+        }
+    }
+
+    private record SistKjenteNøkkel(String aktørId, String organisasjonsnummer, LocalDate skjæringstidspunkt) {
+    }
+
+    private final ConcurrentMap<SistKjenteNøkkel, Boolean> pågåendeOppfrisking = new ConcurrentHashMap<>();
+    private InntektBolkSamler bolkSamler;
+    private LRUCache<CacheNøkkel, Inntektsopplysninger> cache;
+    private LRUCache<SistKjenteNøkkel, Inntektsopplysninger> sistKjente;
 
     InntektTjeneste() {
         // CDI
@@ -40,29 +76,79 @@ public class InntektTjeneste {
 
     @Inject
     public InntektTjeneste(InntektskomponentKlient inntektskomponentKlient) {
-        this.inntektskomponentKlient = inntektskomponentKlient;
+        this(inntektskomponentKlient, BOLK_VINDU);
+    }
+
+    InntektTjeneste(InntektskomponentKlient inntektskomponentKlient, Duration bolkVindu) {
+        this.bolkSamler = new InntektBolkSamler(inntektskomponentKlient::finnInntekt, bolkVindu, BOLK_MAKS_ANTALL_IDENTER);
+        this.cache = new LRUCache<>(CACHE_STØRRELSE, CACHE_LEVETID.toMillis());
+        this.sistKjente = new LRUCache<>(CACHE_STØRRELSE, SIST_KJENTE_LEVETID.toMillis());
     }
 
     // Tar inn dagens dato som parameter for å gjøre det enklere å skrive tester
     public Inntektsopplysninger hentInntekt(AktørIdEntitet aktørId, LocalDate skjæringstidspunkt, LocalDate dagensDato, String organisasjonsnummer) {
-        var antallMånederViBerOm = finnAntallMånederViMåBeOm(skjæringstidspunkt, dagensDato);
-        var fomDato = skjæringstidspunkt.minusMonths(antallMånederViBerOm);
-        var tomDato = skjæringstidspunkt.minusMonths(1);
-        var request = lagRequest(aktørId, fomDato, tomDato);
+        var nøkkel = new CacheNøkkel(aktørId.getAktørId(), organisasjonsnummer, skjæringstidspunkt, sisteMånedMedPassertFrist(dagensDato));
+        var cachet = cache.get(nøkkel);
+        MetrikkerTjeneste.loggCacheOppslag(CACHE_NAVN, cachet != null);
+        if (cachet != null) {
+            return cachet;
+        }
         try {
-            var respons = inntektskomponentKlient.finnInntekt(request);
-            var inntekter = oversettRespons(respons, aktørId, organisasjonsnummer);
-            var alleMåneder = inntekter.size() == antallMånederViBerOm
-                              ? inntekter
-                              : fyllInnManglendeMåneder(fomDato, antallMånederViBerOm, inntekter);
-            var kuttetNedTilTreMndInntekt = fjernOverflødigeMånederOmNødvendig(alleMåneder);
-            return beregnSnittOgLeggPåStatus(kuttetNedTilTreMndInntekt, dagensDato, organisasjonsnummer);
+            return hentOgHusk(nøkkel, aktørId, dagensDato);
         } catch (IntegrasjonException e) {
+            if (IKKE_NEDETID_KODER.contains(e.getKode())) {
+                LOG.warn("Fikk ikke inntekter fra inntektskomponenten, returnerer tomme måneder uten snittlønn til frontend. Fikk feil {}",
+                    e.getMessage());
+                return lagTomRespons(skjæringstidspunkt, organisasjonsnummer);
+            }
+            var sistKjenteOpplysninger = sistKjente.get(nøkkel.utenFrist());
+            if (sistKjenteOpplysninger != null) {
+                LOG.warn("Nedetid i inntektskomponenten, returnerer sist kjente inntekter merket som utdatert. Fikk feil {}", e.getMessage());
+                oppfriskIBakgrunnen(nøkkel, aktørId, dagensDato);
+                return sistKjenteOpplysninger.somUtdatert();
+            }
+            // Tomt svar ved nedetid caches ikke, slik at neste oppslag prøver inntektskomponenten på nytt
             LOG.warn("Nedetid i inntektskomponenten, returnerer tomme måneder uten snittlønn til frontend. Fikk feil {}", e.getMessage());
             return lagTomRespons(skjæringstidspunkt, organisasjonsnummer);
         }
     }
 
+    /**
+     * Prøver inntektskomponenten på nytt i bakgrunnen, høyst ett forsøk om gangen per nøkkel.
+     * Et vellykket forsøk legges i cachen, slik at neste oppslag får ferske opplysninger uten å vente.
+     */
+    private void oppfriskIBakgrunnen(CacheNøkkel nøkkel, AktørIdEntitet aktørId, LocalDate dagensDato) {
+        var sistKjenteNøkkel = nøkkel.utenFrist();
+        if (pågåendeOppfrisking.putIfAbsent(sistKjenteNøkkel, Boolean.TRUE) != null) {
+            return;
+        }
+        ParallellKjøring.start(() -> hentOgHusk(nøkkel, aktørId, dagensDato), TIDSAVBRUDD_OPPFRISKING)
+            .whenComplete((resultat, feil) -> {
+                pågåendeOppfrisking.remove(sistKjenteNøkkel);
+                if (feil != null) {
+                    LOG.info("Oppfrisking av inntekter i bakgrunnen feilet: {}", feil.getMessage());
+                }
+            });
+    }
+
+    private Inntektsopplysninger hentOgHusk(CacheNøkkel nøkkel, AktørIdEntitet aktørId, LocalDate dagensDato) {
+        var inntektsopplysninger = hentOgBeregnInntekt(aktørId, nøkkel.skjæringstidspunkt(), dagensDato, nøkkel.organisasjonsnummer());
+        cache.put(nøkkel, inntektsopplysninger);
+        sistKjente.put(nøkkel.utenFrist(), inntektsopplysninger);
+        return inntektsopplysninger;
+    }
+
+    private Inntektsopplysninger hentOgBeregnInntekt(AktørIdEntitet aktørId,
+                                                     LocalDate skjæringstidspunkt,
+                                                     LocalDate dagensDato,
+                                                     String organisasjonsnummer) {
+        var antallMånederViBerOm = finnAntallMånederViMåBeOm(skjæringstidspunkt, dagensDato);
+        var fomÅrMåned = YearMonth.from(skjæringstidspunkt.minusMonths(antallMånederViBerOm));
+        var tomÅrMåned = YearMonth.from(skjæringstidspunkt.minusMonths(1));
+        var respons = bolkSamler.hent(aktørId.getAktørId(), organisasjonsnummer, fomÅrMåned, tomÅrMåned);
+        return beregnInntekt(respons, aktørId, organisasjonsnummer, fomÅrMåned, antallMånederViBerOm, dagensDato);
+    }
+
     private Inntektsopplysninger lagTomRespons(LocalDate skjæringstidspunkt, String organisasjonsnummer) {
         var tommeMåneder = Set.of(1, 2, 3).stream().map(i -> new Inntektsopplysninger.InntektMåned(null,
             YearMonth.from(skjæringstidspunkt.minusMonths(i)),
@@ -70,32 +156,117 @@ public class InntektTjeneste {
         return new Inntektsopplysninger(null, organisasjonsnummer, tommeMåneder);
     }
 
-    private Inntektsopplysninger beregnSnittOgLeggPåStatus(List<Månedsinntekt> inntekter, LocalDate dagensDato, String organisasjonsnummer) {
-        var månedsinntekter = inntekter.stream().map(i -> mapInntektMedStatus(i, dagensDato)).toList();
-        var antallMndMedRapportertInntekt = månedsinntekter.stream().filter(m -> m.beløp() != null).count();
+    /**
+     * Oversetter responsen og beregner snittlønn for månedene fra og med fom. Ytelsen måles med InntektBeregningBenchmark under src/jmh.
+     */
+    static Inntektsopplysninger beregnInntekt(HentInntektListeBolkResponse respons,
+                                              AktørIdEntitet aktørId,
+                                              String organisasjonsnummer,
+                                              YearMonth fom,
+                                              int antallMåneder,
+                                              LocalDate dagensDato) {
+        var inntektPerMåned = finnInntektPerMånedForBruker(respons, aktørId);
+        var beløpPerMåned = summerPerMåned(inntektPerMåned, organisasjonsnummer, fom, antallMåneder);
+        if (beløpPerMåned == null) {
+            return beregnMedFlereOppføringerPerMåned(inntektPerMåned, organisasjonsnummer, fom, antallMåneder, dagensDato);
+        }
+        return beregnSnittOgLeggPåStatus(fom, beløpPerMåned, dagensDato, organisasjonsnummer);
+    }
+
+    /**
+     * Velger ut månedene som skal vises i én gjennomgang av månedene.
+     * Er de tre siste månedene rapportert brukes kun de. Ellers fjernes de eldste månedene så langt det finnes inntekt på flere enn tre måneder.
+     *
+     * @param beløpPerMåned sum per måned fra og med fom, null for måneder uten rapportert inntekt
+     */
+    private static Inntektsopplysninger beregnSnittOgLeggPåStatus(YearMonth fom, BigDecimal[] beløpPerMåned, LocalDate dagensDato, String organisasjonsnummer) {
+        var antallMåneder = beløpPerMåned.length;
+        var antallMndMedSattInntekt = 0;
+        var treSisteErRapportert = true;
+        for (int i = 0; i < antallMåneder; i++) {
+            if (beløpPerMåned[i] != null) {
+                antallMndMedSattInntekt++;
+            } else if (i >= antallMåneder - 3) {
+                treSisteErRapportert = false;
+            }
+        }
+        var førsteMåned = treSisteErRapportert ? antallMåneder - 3 : Math.max(antallMndMedSattInntekt - 3, 0);
+
+        var månedsinntekter = new ArrayList<Inntektsopplysninger.InntektMåned>(antallMåneder - førsteMåned);
+        for (int i = førsteMåned; i < antallMåneder; i++) {
+            månedsinntekter.add(mapInntektMedStatus(fom.plusMonths(i), beløpPerMåned[i], dagensDato));
+        }
+        return beregnSnitt(Collections.unmodifiableList(månedsinntekter), organisasjonsnummer);
+    }
+
+    /**
+     * Når samme utbetalingsmåned er rapportert i flere ArbeidsInntektMaaned blir hver forekomst en egen måned i listen, slik som før
+     * summeringen ble gjort i én gjennomgang. De tre siste månedene etter sortering brukes da på samme måte som ellers.
+     */
+    private static Inntektsopplysninger beregnMedFlereOppføringerPerMåned(List<ArbeidsInntektMaaned> inntektPerMåned,
+                                                                        String organisasjonsnummer,
+                                                                        YearMonth fom,
+                                                                        int antallMåneder,
+                                                                        LocalDate dagensDato) {
+        var inntekter = new ArrayList<Månedsinntekt>();
+        for (var inntektMåned : inntektPerMåned) {
+            var informasjon = inntektMåned.getArbeidsInntektInformasjon();
+            if (informasjon == null || informasjon.getInntektListe() == null) {
+                continue;
+            }
+            informasjon.getInntektListe()
+                .stream()
+                .filter(inntekt -> erLønnFraOrganisasjonen(inntekt, organisasjonsnummer)
+                    && indeks(fom, inntekt.getUtbetaltIMaaned()) >= 0 && indeks(fom, inntekt.getUtbetaltIMaaned()) < antallMåneder)
+                .collect(Collectors.groupingBy(Inntekt::getUtbetaltIMaaned))
+                .forEach((måned, linjer) -> inntekter.add(new Månedsinntekt(måned,
+                    linjer.stream().map(Inntekt::getBeloep).filter(Objects::nonNull).reduce(BigDecimal::add).orElse(BigDecimal.ZERO))));
+        }
+        for (int i = 0; i < antallMåneder; i++) {
+            var måned = fom.plusMonths(i);
+            if (inntekter.stream().noneMatch(inntekt -> inntekt.måned().equals(måned))) {
+                inntekter.add(new Månedsinntekt(måned, null));
+            }
+        }
+        inntekter.sort(Comparator.comparing(Månedsinntekt::måned));
+
+        var treSisteMåneder = inntekter.subList(inntekter.size() - 3, inntekter.size());
+        var antallMndMedSattInntekt = (int) inntekter.stream().filter(inntekt -> inntekt.beløp() != null).count();
+        var valgteMåneder = treSisteMåneder.stream().allMatch(inntekt -> inntekt.beløp() != null)
+                            ? treSisteMåneder
+                            : inntekter.subList(Math.max(antallMndMedSattInntekt - 3, 0), inntekter.size());
+        var månedsinntekter = valgteMåneder.stream().map(inntekt -> mapInntektMedStatus(inntekt.måned(), inntekt.beløp(), dagensDato)).toList();
+        return beregnSnitt(månedsinntekter, organisasjonsnummer);
+    }
+
+    private record Månedsinntekt(YearMonth måned, BigDecimal beløp) {
+    }
+
+    private static Inntektsopplysninger beregnSnitt(List<Inntektsopplysninger.InntektMåned> månedsinntekter, String organisasjonsnummer) {
+        var totalLønn = BigDecimal.ZERO;
+        var antallMndMedRapportertInntekt = 0;
+        for (var månedsinntekt : månedsinntekter) {
+            if (månedsinntekt.beløp() != null) {
+                totalLønn = totalLønn.add(månedsinntekt.beløp());
+                antallMndMedRapportertInntekt++;
+            }
+        }
         if (antallMndMedRapportertInntekt > 3) {
             throw new TekniskException("K9INNTEKTSMELDING_INNTEKTKSKOMPONENT_1",
                 String.format("Har mappet flere enn 3 måneder med inntekt, ugyldig tilstand. Mappede månedsinntekter var %s", månedsinntekter));
         }
-        var totalLønn = månedsinntekter.stream()
-            .filter(m -> m.beløp() != null)
-            .map(Inntektsopplysninger.InntektMåned::beløp)
-            .reduce(BigDecimal::add)
-            .orElse(BigDecimal.ZERO)
-            .max(BigDecimal.ZERO); // hvis inntekt blir < 0 setter vi den til 0 for å unngå negative tall i inntektsmeldingen
-        var snittlønn = totalLønn.divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_EVEN);
+        // hvis inntekt blir < 0 setter vi den til 0 for å unngå negative tall i inntektsmeldingen
+        var snittlønn = totalLønn.max(BigDecimal.ZERO).divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_EVEN);
         return new Inntektsopplysninger(snittlønn, organisasjonsnummer, månedsinntekter);
     }
 
-    private Inntektsopplysninger.InntektMåned mapInntektMedStatus(Månedsinntekt i, LocalDate dagensDato) {
-        var skalInntektVæreRapportert = rapporteringsfristErPassert(i.måned.atDay(1), dagensDato);
-        var erInntektRapportert = i.beløp != null;
-        if (erInntektRapportert) {
-            return new Inntektsopplysninger.InntektMåned(i.beløp, i.måned, MånedslønnStatus.BRUKT_I_GJENNOMSNITT);
+    private static Inntektsopplysninger.InntektMåned mapInntektMedStatus(YearMonth måned, BigDecimal beløp, LocalDate dagensDato) {
+        if (beløp != null) {
+            return new Inntektsopplysninger.InntektMåned(beløp, måned, MånedslønnStatus.BRUKT_I_GJENNOMSNITT);
         }
-        return skalInntektVæreRapportert
-               ? new Inntektsopplysninger.InntektMåned(i.beløp, i.måned, MånedslønnStatus.IKKE_RAPPORTERT_MEN_BRUKT_I_GJENNOMSNITT)
-               : new Inntektsopplysninger.InntektMåned(i.beløp, i.måned, MånedslønnStatus.IKKE_RAPPORTERT_RAPPORTERINGSFRIST_IKKE_PASSERT);
+        return rapporteringsfristErPassert(måned.atDay(1), dagensDato)
+               ? new Inntektsopplysninger.InntektMåned(null, måned, MånedslønnStatus.IKKE_RAPPORTERT_MEN_BRUKT_I_GJENNOMSNITT)
+               : new Inntektsopplysninger.InntektMåned(null, måned, MånedslønnStatus.IKKE_RAPPORTERT_RAPPORTERINGSFRIST_IKKE_PASSERT);
     }
 
     private int finnAntallMånederViMåBeOm(LocalDate skjæringstidspunkt, LocalDate dagensDato) {
@@ -109,96 +280,96 @@ public class InntektTjeneste {
         return beregningsperiodeAntallMnd;
     }
 
-    private boolean rapporteringsfristErPassert(LocalDate dato, LocalDate dagensDato) {
+    private static boolean rapporteringsfristErPassert(LocalDate dato, LocalDate dagensDato) {
         return dagensDato.isAfter(dato.plusMonths(1).withDayOfMonth(DAG_I_MÅNED_RAPPORTERINGSFRIST));
     }
 
-    private static List<Månedsinntekt> fjernOverflødigeMånederOmNødvendig(List<Månedsinntekt> alleMåneder) {
-        // Er alle de tre siste månedene rapportert?
-        alleMåneder.sort(Comparator.comparing(Månedsinntekt::måned));
-        var treSisteMåneder = alleMåneder.subList(alleMåneder.size()-3, alleMåneder.size());
-        if (treSisteMåneder.stream().noneMatch(i -> i.beløp() == null)) {
-            return treSisteMåneder;
-        }
+    private static YearMonth sisteMånedMedPassertFrist(LocalDate dagensDato) {
+        // Fristen for en måned er den 5. i måneden etter, og regnes som passert dagen etter
+        return YearMonth.from(dagensDato).minusMonths(dagensDato.getDayOfMonth() > DAG_I_MÅNED_RAPPORTERINGSFRIST ? 1 : 2);
+    }
 
-        var antallMndMedSattInntekt = alleMåneder.stream().filter(m -> m.beløp != null).toList().size();
-        int overflødigeMåneder = antallMndMedSattInntekt > 3 ? antallMndMedSattInntekt-3 : 0;
-        // Vi fant inntekt på flere måneder enn vi trenger, fjerner de eldste som er overflødige
-        if (overflødigeMåneder > 0) {
-            return alleMåneder.subList(overflødigeMåneder, alleMåneder.size());
+    private static List<ArbeidsInntektMaaned> finnInntektPerMånedForBruker(HentInntektListeBolkResponse response, AktørIdEntitet aktørId) {
+        var sikkerhetsavvik = finnSikkerhetsavvik(response, aktørId);
+        if (!sikkerhetsavvik.isEmpty()) {
+            throw new IntegrasjonException(SIKKERHETSAVVIK_KODE,
+                String.format("Fikk følgende sikkerhetsavvik ved kall til inntektstjenesten: %s.", byggSikkerhetsavvikString(sikkerhetsavvik)));
+        }
+        var inntektListeRespons = response.getArbeidsInntektIdentListe();
+        if (inntektListeRespons == null) {
+            return List.of();
+        }
+        for (var arbeidsInntektIdent : inntektListeRespons) {
+            if (arbeidsInntektIdent.getIdent().getIdentifikator().equals(aktørId.getAktørId())) {
+                return arbeidsInntektIdent.getArbeidsInntektMaaned() == null ? List.of() : arbeidsInntektIdent.getArbeidsInntektMaaned();
+            }
         }
-        return alleMåneder;
+        return List.of();
     }
 
-    public static List<Månedsinntekt> fyllInnManglendeMåneder(LocalDate fomDato,
-                                                              long månederViBerOm,
-                                                              List<Månedsinntekt> inntekter) {
-        List<Månedsinntekt> liste = new ArrayList<>(inntekter);
-        lagTommeInntekter(fomDato, månederViBerOm).stream()
-            .filter(tomInntekt -> inntekter.stream().noneMatch(i -> i.måned.equals(tomInntekt.måned)))
-            .forEach(liste::add);
-        return liste;
+    /**
+     * Summerer lønnsinntekt fra organisasjonen per utbetalingsmåned direkte inn i en tabell med én plass per måned fra og med fom.
+     * En måned med inntektslinjer, men uten beløp, får summen 0, mens en måned uten linjer forblir null.
+     *
+     * @return null hvis samme utbetalingsmåned er rapportert i flere ArbeidsInntektMaaned, som da må beregnes med én oppføring per forekomst
+     */
+    private static BigDecimal[] summerPerMåned(List<ArbeidsInntektMaaned> inntektPerMåned,
+                                               String organisasjonsnummer,
+                                               YearMonth fom,
+                                               int antallMåneder) {
+        var beløpPerMåned = new BigDecimal[antallMåneder];
+        var kildePerMåned = new int[antallMåneder];
+        var kilde = 0;
+        for (var inntektMåned : inntektPerMåned) {
+            kilde++;
+            var informasjon = inntektMåned.getArbeidsInntektInformasjon();
+            if (informasjon == null || informasjon.getInntektListe() == null) {
+                continue;
+            }
+            for (var inntekt : informasjon.getInntektListe()) {
+                if (!erLønnFraOrganisasjonen(inntekt, organisasjonsnummer)) {
+                    continue;
+                }
+                var indeks = indeks(fom, inntekt.getUtbetaltIMaaned());
+                // Responsen kan dekke en lengre periode enn vi ba om når oppslaget er samlet med andre
+                if (indeks < 0 || indeks >= antallMåneder) {
+                    continue;
+                }
+                if (kildePerMåned[indeks] != 0 && kildePerMåned[indeks] != kilde) {
+                    return null;
+                }
+                kildePerMåned[indeks] = kilde;
+                var sum = beløpPerMåned[indeks] == null ? BigDecimal.ZERO : beløpPerMåned[indeks];
+                beløpPerMåned[indeks] = inntekt.getBeloep() == null ? sum : sum.add(inntekt.getBeloep());
+            }
+        }
+        return beløpPerMåned;
     }
 
-    private static List<Månedsinntekt> lagTommeInntekter(LocalDate fomDato, long månederViBerOm) {
-        return Stream.iterate(fomDato.withDayOfMonth(1),
-                date -> date.plusMonths(1))
-            .limit(månederViBerOm)
-            .map(fom -> new Månedsinntekt(
-                YearMonth.of(fom.getYear(), fom.getMonth()),
-                null))
-            .toList();
+    private static boolean erLønnFraOrganisasjonen(Inntekt inntekt, String organisasjonsnummer) {
+        return InntektType.LOENNSINNTEKT.equals(inntekt.getInntektType()) && organisasjonsnummer.equals(inntekt.getVirksomhet().getIdentifikator());
     }
 
-    private List<Månedsinntekt> oversettRespons(HentInntektListeBolkResponse response, AktørIdEntitet aktørId, String organisasjonsnummer) {
-        if (response.getSikkerhetsavvikListe() != null && !response.getSikkerhetsavvikListe().isEmpty()) {
-            throw new IntegrasjonException("K9-535194",
-                String.format("Fikk følgende sikkerhetsavvik ved kall til inntektstjenesten: %s.", byggSikkerhetsavvikString(response)));
-        }
-
-        List<ArbeidsInntektIdent> inntektListeRespons =
-            response.getArbeidsInntektIdentListe() == null ? Collections.emptyList() : response.getArbeidsInntektIdentListe();
-        var inntektPerMånedForBruker = inntektListeRespons.stream()
-            .filter(a -> a.getIdent().getIdentifikator().equals(aktørId.getAktørId()))
-            .findFirst()
-            .map(ArbeidsInntektIdent::getArbeidsInntektMaaned)
-            .orElse(List.of());
-
-        List<Månedsinntekt> månedsInntektListe = new ArrayList<>();
-
-        inntektPerMånedForBruker.forEach(inntektMåned -> {
-            if (inntektMåned.getArbeidsInntektInformasjon() != null && inntektMåned.getArbeidsInntektInformasjon().getInntektListe() != null) {
-                var inntekterPrMåned = inntektMåned.getArbeidsInntektInformasjon()
-                    .getInntektListe()
-                    .stream()
-                    .filter(inntekt -> InntektType.LOENNSINNTEKT.equals(inntekt.getInntektType())
-                        && organisasjonsnummer.equals(inntekt.getVirksomhet().getIdentifikator()))
-                    .collect(Collectors.groupingBy(Inntekt::getUtbetaltIMaaned));
-                inntekterPrMåned.forEach((key, value) -> {
-                    var totalInntektForMnd = value.stream().map(Inntekt::getBeloep)
-                        .filter(Objects::nonNull)
-                        .reduce(BigDecimal::add).orElse(BigDecimal.ZERO);
-                    var inntekt = new Månedsinntekt(key, totalInntektForMnd);
-                    månedsInntektListe.add(inntekt);
-                });
-            }
-        });
-        return månedsInntektListe;
+    private static int indeks(YearMonth fom, YearMonth måned) {
+        return (måned.getYear() - fom.getYear()) * 12 + måned.getMonthValue() - fom.getMonthValue();
     }
 
-    private record Månedsinntekt(YearMonth måned, BigDecimal beløp) {}
-
-    private FinnInntektRequest lagRequest(AktørIdEntitet aktørId, LocalDate fomDato, LocalDate tomDato) {
-        var fomÅrMåned = YearMonth.of(fomDato.getYear(), fomDato.getMonth());
-        var tomÅrMåned = YearMonth.of(tomDato.getYear(), tomDato.getMonth());
-
-        return new FinnInntektRequest(aktørId.getAktørId(), fomÅrMåned, tomÅrMåned);
+    /**
+     * Responsen kan være delt med andre aktører i samme bolk, så kun avvik knyttet til aktøren, eller uten ident, gjelder oppslaget.
+     */
+    private static List<Sikkerhetsavvik> finnSikkerhetsavvik(HentInntektListeBolkResponse response, AktørIdEntitet aktørId) {
+        if (response.getSikkerhetsavvikListe() == null) {
+            return List.of();
+        }
+        return response.getSikkerhetsavvikListe()
+            .stream()
+            .filter(avvik -> avvik.getIdent() == null || aktørId.getAktørId().equals(avvik.getIdent().getIdentifikator()))
+            .toList();
     }
 
-    private String byggSikkerhetsavvikString(HentInntektListeBolkResponse response) {
+    private static String byggSikkerhetsavvikString(List<Sikkerhetsavvik> sikkerhetsavvikListe) {
         var stringBuilder = new StringBuilder();
-        var sikkerhetsavvikListe = response.getSikkerhetsavvikListe();
-        if (sikkerhetsavvikListe != null && !sikkerhetsavvikListe.isEmpty()) {
+        if (!sikkerhetsavvikListe.isEmpty()) {
             stringBuilder.append(sikkerhetsavvikListe.getFirst().getTekst());
             for (int i = 1; i < sikkerhetsavvikListe.size(); i++) {
                 stringBuilder.append(", ");
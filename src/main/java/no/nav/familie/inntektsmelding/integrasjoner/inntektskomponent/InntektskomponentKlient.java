@@ -1,7 +1,9 @@
 package no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
 import java.time.YearMonth;
-import java.util.Collections;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -23,6 +25,11 @@ import no.nav.vedtak.felles.integrasjon.rest.TokenFlow;
 public class InntektskomponentKlient {
     private static final Logger LOG = LoggerFactory.getLogger(InntektskomponentKlient.class);
     private static final YearMonth INNTK_TIDLIGSTE_DATO = YearMonth.of(2015, 7);
+    static final String KALLFEIL_KODE = "K9-824246";
+    static final String AVVIST_KODE = "K9-824248";
+    static final String LESEFEIL_KODE = "K9-824247";
+    private static final String FEILMELDING_KALL =
+        "Feil ved kall til inntektstjenesten. Meld til #team_registre og #produksjonshendelser hvis dette skjer over lengre tidsperiode.";
 
     private final RestClient restClient;
     private final RestConfig restConfig;
@@ -40,20 +47,29 @@ public class InntektskomponentKlient {
         var request = lagRequest(finnInntektRequest);
         LOG.info("Henter inntekt");
 
-        HentInntektListeBolkResponse response;
+        HttpResponse<InputStream> respons;
         try {
-            response = restClient.send(request, HentInntektListeBolkResponse.class);
+            respons = restClient.sendReturnUnhandled(request, HttpResponse.BodyHandlers.ofInputStream());
         } catch (RuntimeException e) {
-            throw new IntegrasjonException("K9-824246",
-                "Feil ved kall til inntektstjenesten. Meld til #team_registre og #produksjonshendelser hvis dette skjer over lengre tidsperiode.", e);
+            throw new IntegrasjonException(KALLFEIL_KODE, FEILMELDING_KALL, e);
+        }
+        try (var body = respons.body()) {
+            if (respons.statusCode() >= 500) {
+                throw new IntegrasjonException(KALLFEIL_KODE, FEILMELDING_KALL + " Status: " + respons.statusCode());
+            }
+            if (respons.statusCode() >= 400) {
+                throw new IntegrasjonException(AVVIST_KODE, "Inntektstjenesten avviste kallet med status " + respons.statusCode());
+            }
+            return InntektResponsLeser.les(body, finnInntektRequest.organisasjonsnumre());
+        } catch (IOException e) {
+            throw new IntegrasjonException(LESEFEIL_KODE, "Klarte ikke å lese svar fra inntektstjenesten.", e);
         }
-        return response;
     }
 
     private RestRequest lagRequest(FinnInntektRequest finnInntektRequest) {
         var request = new HentInntektListeBolkRequest();
 
-        request.setIdentListe(Collections.singletonList(Aktoer.newAktoerId(finnInntektRequest.aktørId())));
+        request.setIdentListe(finnInntektRequest.aktørIder().stream().map(Aktoer::newAktoerId).toList());
         request.setAinntektsfilter("8-28");
         request.setFormaal("Pleiepenger");
 
@@ -6,15 +6,27 @@ import java.math.BigDecimal;
 import java.time.YearMonth;
 import java.util.List;
 
-public record Inntektsopplysninger(BigDecimal gjennomsnitt, String orgnummer, List<InntektMåned> måneder) {
+/**
+ * @param utdatert true når inntektskomponenten ikke svarte og opplysningene er de sist kjente fra et tidligere oppslag
+ */
+public record Inntektsopplysninger(BigDecimal gjennomsnitt, String orgnummer, List<InntektMåned> måneder, boolean utdatert) {
     public record InntektMåned(BigDecimal beløp, YearMonth månedÅr, MånedslønnStatus status){}
 
+    public Inntektsopplysninger(BigDecimal gjennomsnitt, String orgnummer, List<InntektMåned> måneder) {
+        this(gjennomsnitt, orgnummer, måneder, false);
+    }
+
+    public Inntektsopplysninger somUtdatert() {
+        return new Inntektsopplysninger(gjennomsnitt, orgnummer, måneder, true);
+    }
+
     @Override
     public String toString() {
         return "Inntektsopplysninger{" +
             "gjennomsnitt=" + gjennomsnitt +
             ", orgnummer='" + maskerId(orgnummer) + '\'' +
             ", måneder=" + måneder +
+            ", utdatert=" + utdatert +
             '}';
     }
 
@@ -1,6 +1,5 @@
 package no.nav.familie.inntektsmelding.integrasjoner.joark;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -53,7 +52,7 @@ public class JoarkTjeneste {
     }
 
 
-    public String journalførInntektsmelding(String XMLAvInntektsmelding,
+    public String journalførInntektsmelding(byte[] XMLAvInntektsmelding,
                                             InntektsmeldingEntitet inntektsmelding,
                                             byte[] pdf,
                                             String fagsystemSaksnummer) {
@@ -68,7 +67,7 @@ public class JoarkTjeneste {
         }
     }
 
-    private OpprettJournalpostRequest opprettRequest(String xmlAvInntektsmelding,
+    private OpprettJournalpostRequest opprettRequest(byte[] xmlAvInntektsmelding,
                                                      InntektsmeldingEntitet inntektsmeldingEntitet,
                                                      byte[] pdf,
                                                      String fagsystemSaksnummer) {
@@ -92,9 +91,8 @@ public class JoarkTjeneste {
         return opprettJournalpostRequestBuilder.build();
     }
 
-    private List<DokumentInfoOpprett> lagDokumenter(String xmlAvInntektsmelding, byte[] pdf) {
-        var dokumentXML = new Dokumentvariant(Dokumentvariant.Variantformat.ORIGINAL, Dokumentvariant.Filtype.XML,
-            xmlAvInntektsmelding.getBytes(StandardCharsets.UTF_8));
+    private List<DokumentInfoOpprett> lagDokumenter(byte[] xmlAvInntektsmelding, byte[] pdf) {
+        var dokumentXML = new Dokumentvariant(Dokumentvariant.Variantformat.ORIGINAL, Dokumentvariant.Filtype.XML, xmlAvInntektsmelding);
 
         var dokumentPDF = new Dokumentvariant(Dokumentvariant.Variantformat.ARKIV, Dokumentvariant.Filtype.PDF, pdf);
 
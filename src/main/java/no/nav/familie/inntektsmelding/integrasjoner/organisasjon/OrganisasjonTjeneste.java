@@ -1,8 +1,12 @@
 package no.nav.familie.inntektsmelding.integrasjoner.organisasjon;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -10,16 +14,32 @@ import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import no.nav.familie.inntektsmelding.metrikker.MetrikkerTjeneste;
+import no.nav.familie.inntektsmelding.utils.ParallellKjøring;
+import no.nav.foreldrepenger.konfig.Environment;
 import no.nav.vedtak.util.LRUCache;
 
 @ApplicationScoped
 public class OrganisasjonTjeneste {
     private static final Logger LOG = LoggerFactory.getLogger(OrganisasjonTjeneste.class);
+    private static final Environment ENV = Environment.current();
 
-    private static final long CACHE_ELEMENT_LIVE_TIME_MS = TimeUnit.MILLISECONDS.convert(24, TimeUnit.HOURS);
+    private static final String CACHE_NAVN = "organisasjon";
+    private static final int CACHE_STØRRELSE = ENV.getProperty("organisasjon.cache.stoerrelse", int.class, 20_000);
+    private static final Duration CACHE_LEVETID = Duration.ofHours(ENV.getProperty("organisasjon.cache.levetid.timer", int.class, 24));
 
-    private static final LRUCache<String, Organisasjon> CACHE = new LRUCache<>(2500, CACHE_ELEMENT_LIVE_TIME_MS);
+    /**
+     * Oppføringer som brukes etter denne andelen av levetiden hentes på nytt i bakgrunnen, slik at populære organisasjoner ikke utløper
+     */
+    private static final double ANDEL_AV_LEVETID_FØR_OPPFRISKING = 0.8;
+    private static final Duration TIDSAVBRUDD_OPPFRISKING = Duration.ofSeconds(30);
+
+    private record CacheOppføring(Organisasjon organisasjon, long hentetTidspunkt) {
+    }
 
+    private final ConcurrentMap<String, CompletableFuture<Organisasjon>> pågåendeOppslag = new ConcurrentHashMap<>();
+    private LRUCache<String, CacheOppføring> cache;
+    private long oppfriskEtterMs;
     private EregKlient eregRestKlient;
 
     public OrganisasjonTjeneste() {
@@ -28,12 +48,18 @@ public class OrganisasjonTjeneste {
 
     @Inject
     public OrganisasjonTjeneste(EregKlient eregRestKlient) {
+        this(eregRestKlient, CACHE_STØRRELSE, CACHE_LEVETID);
+    }
+
+    OrganisasjonTjeneste(EregKlient eregRestKlient, int cacheStørrelse, Duration cacheLevetid) {
         this.eregRestKlient = eregRestKlient;
+        this.cache = new LRUCache<>(cacheStørrelse, cacheLevetid.toMillis());
+        this.oppfriskEtterMs = (long) (cacheLevetid.toMillis() * ANDEL_AV_LEVETID_FØR_OPPFRISKING);
     }
 
     /**
      * Henter informasjon fra Enhetsregisteret hvis applikasjonen ikke kjenner til
-     * orgnr eller har data som er eldre enn 24 timer.
+     * orgnr eller har data som er eldre enn cachens levetid.
      *
      * @param orgNummer orgnummeret
      * @return relevant informasjon om virksomheten.
@@ -54,10 +80,82 @@ public class OrganisasjonTjeneste {
         return Optional.of(hent(orgNummer));
     }
 
+    /**
+     * Starter henting i bakgrunnen av organisasjoner som ikke allerede er i cachen, og returnerer uten å vente.
+     * Oppslag som gjøres mens forhåndshentingen pågår venter på og deler det samme kallet mot Enhetsregisteret.
+     * Feil ved forhåndshenting logges og ignoreres, og oppslaget gjøres da på nytt ved faktisk bruk.
+     *
+     * @param orgNumre organisasjonsnumre som skal forhåndshentes
+     */
+    public void forhåndshentOrganisasjoner(Collection<String> orgNumre) {
+        var antallStartet = 0;
+        for (var orgnr : orgNumre.stream().distinct().filter(OrganisasjonsNummerValidator::erGyldig).toList()) {
+            if (cache.get(orgnr) != null) {
+                continue;
+            }
+            var nyttOppslag = new CompletableFuture<Organisasjon>();
+            if (pågåendeOppslag.putIfAbsent(orgnr, nyttOppslag) == null) {
+                ParallellKjøring.start(() -> utførOppslag(orgnr, nyttOppslag), TIDSAVBRUDD_OPPFRISKING).exceptionally(e -> {
+                    LOG.info("Klarte ikke å forhåndshente organisasjon {}", orgnr, e);
+                    return null;
+                });
+                antallStartet++;
+            }
+        }
+        if (antallStartet > 0) {
+            LOG.info("Forhåndshenter {} organisasjoner fra Enhetsregisteret", antallStartet);
+        }
+    }
+
     private Organisasjon hent(String orgnr) {
-        var virksomhet = Optional.ofNullable(CACHE.get(orgnr)).orElseGet(() -> hentOrganisasjonRest(orgnr));
-        CACHE.put(orgnr, virksomhet);
-        return virksomhet;
+        var oppføring = cache.get(orgnr);
+        if (oppføring != null) {
+            MetrikkerTjeneste.loggCacheOppslag(CACHE_NAVN, true);
+            if (System.currentTimeMillis() - oppføring.hentetTidspunkt() > oppfriskEtterMs) {
+                oppfriskIBakgrunnen(orgnr);
+            }
+            return oppføring.organisasjon();
+        }
+        MetrikkerTjeneste.loggCacheOppslag(CACHE_NAVN, false);
+        return lastInn(orgnr);
+    }
+
+    private void oppfriskIBakgrunnen(String orgnr) {
+        if (pågåendeOppslag.containsKey(orgnr)) {
+            return;
+        }
+        ParallellKjøring.start(() -> lastInn(orgnr), TIDSAVBRUDD_OPPFRISKING).exceptionally(e -> {
+            LOG.info("Klarte ikke å oppfriske organisasjon {} i bakgrunnen, beholder eksisterende verdi", orgnr, e);
+            return null;
+        });
+    }
+
+    /**
+     * Samtidige oppslag på samme orgnr deler ett kall mot Enhetsregisteret.
+     */
+    private Organisasjon lastInn(String orgnr) {
+        var nyttOppslag = new CompletableFuture<Organisasjon>();
+        var pågående = pågåendeOppslag.putIfAbsent(orgnr, nyttOppslag);
+        if (pågående != null) {
+            return ParallellKjøring.hent(pågående, "oppslag i Enhetsregisteret");
+        }
+        return utførOppslag(orgnr, nyttOppslag);
+    }
+
+    private Organisasjon utførOppslag(String orgnr, CompletableFuture<Organisasjon> nyttOppslag) {
+        try {
+            var start = System.nanoTime();
+            var virksomhet = hentOrganisasjonRest(orgnr);
+            MetrikkerTjeneste.loggCacheLasting(CACHE_NAVN, Duration.ofNanos(System.nanoTime() - start));
+            cache.put(orgnr, new CacheOppføring(virksomhet, System.currentTimeMillis()));
+            nyttOppslag.complete(virksomhet);
+            return virksomhet;
+        } catch (RuntimeException e) {
+            nyttOppslag.completeExceptionally(e);
+            throw e;
+        } finally {
+            pågåendeOppslag.remove(orgnr, nyttOppslag);
+        }
     }
 
     private Organisasjon hentOrganisasjonRest(String orgNummer) {
@@ -0,0 +1,70 @@
+package no.nav.familie.inntektsmelding.integrasjoner.person;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
+import no.nav.vedtak.util.LRUCache;
+
+/**
+ * Cache av koblingen mellom aktørId og folkeregisterident, felles for hele applikasjonen.
+ * Gjeldende ident for en aktør lagres i begge retninger, slik at et oppslag i én retning også besvarer oppslag i den andre.
+ * Koblinger fjernes når PDL ikke finner identen, eller når en av identene er erstattet av en ny.
+ */
+class IdentCache {
+
+    private static final long CACHE_ELEMENT_LIVE_TIME_MS = TimeUnit.MILLISECONDS.convert(6, TimeUnit.HOURS);
+    private static final int CACHE_STØRRELSE = 10_000;
+
+    private record IdentPar(AktørIdEntitet aktørId, PersonIdent personIdent) {
+    }
+
+    private final LRUCache<String, IdentPar> fraAktørId = new LRUCache<>(CACHE_STØRRELSE, CACHE_ELEMENT_LIVE_TIME_MS);
+    private final LRUCache<String, IdentPar> fraPersonIdent = new LRUCache<>(CACHE_STØRRELSE, CACHE_ELEMENT_LIVE_TIME_MS);
+
+    Optional<PersonIdent> finnPersonIdent(AktørIdEntitet aktørId) {
+        return Optional.ofNullable(fraAktørId.get(aktørId.getAktørId())).map(IdentPar::personIdent);
+    }
+
+    Optional<AktørIdEntitet> finnAktørId(PersonIdent personIdent) {
+        return Optional.ofNullable(fraPersonIdent.get(personIdent.getIdent())).map(IdentPar::aktørId);
+    }
+
+    synchronized void husk(AktørIdEntitet aktørId, PersonIdent personIdent) {
+        var par = new IdentPar(aktørId, personIdent);
+        // En ny ident for samme aktør betyr at den gamle er historisk, og omvendt
+        var forrigeForAktør = fraAktørId.get(aktørId.getAktørId());
+        if (forrigeForAktør != null && !forrigeForAktør.personIdent().equals(personIdent)) {
+            fraPersonIdent.remove(forrigeForAktør.personIdent().getIdent());
+        }
+        var forrigeForIdent = fraPersonIdent.get(personIdent.getIdent());
+        if (forrigeForIdent != null && !forrigeForIdent.aktørId().equals(aktørId)) {
+            fraAktørId.remove(forrigeForIdent.aktørId().getAktørId());
+        }
+        fraAktørId.put(aktørId.getAktørId(), par);
+        fraPersonIdent.put(personIdent.getIdent(), par);
+    }
+
+    /**
+     * Oppslag fra ident til aktørId kan gjøres med historiske identer, og gir derfor kun grunnlag for å huske den ene retningen.
+     */
+    void huskAktørId(PersonIdent personIdent, AktørIdEntitet aktørId) {
+        fraPersonIdent.put(personIdent.getIdent(), new IdentPar(aktørId, personIdent));
+    }
+
+    synchronized void glem(AktørIdEntitet aktørId) {
+        var par = fraAktørId.get(aktørId.getAktørId());
+        fraAktørId.remove(aktørId.getAktørId());
+        if (par != null) {
+            fraPersonIdent.remove(par.personIdent().getIdent());
+        }
+    }
+
+    synchronized void glem(PersonIdent personIdent) {
+        var par = fraPersonIdent.get(personIdent.getIdent());
+        fraPersonIdent.remove(personIdent.getIdent());
+        if (par != null) {
+            fraAktørId.remove(par.aktørId().getAktørId());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package no.nav.familie.inntektsmelding.integrasjoner.person;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import no.nav.familie.inntektsmelding.koder.Ytelsetype;
+import no.nav.familie.inntektsmelding.metrikker.MetrikkerTjeneste;
+import no.nav.familie.inntektsmelding.utils.ParallellKjøring;
+import no.nav.vedtak.sikkerhet.kontekst.Kontekst;
+import no.nav.vedtak.sikkerhet.kontekst.KontekstHolder;
+
+/**
+ * Husker oppslag mot PDL innenfor én kontekst, dvs ett http-kall eller én kjøring av en prosesstask.
+ * Konteksten følger med til tråder startet via ParallellKjøring, slik at også parallelle oppslag deler minne.
+ * Samtidige oppslag på samme nøkkel deler ett kall mot PDL.
+ * Minnet knyttes svakt til konteksten og forsvinner når konteksten ikke lenger er i bruk.
+ */
+class PdlOppslagMinne {
+
+    enum Oppslag {
+        PERSON_FRA_AKTØRID,
+        PERSON_FRA_IDENT,
+        IDENT_FOR_AKTØRID,
+        AKTØRID_FOR_IDENT
+    }
+
+    private record Nøkkel(Oppslag oppslag, String ident, Ytelsetype ytelse) {
+    }
+
+    private final Map<Kontekst, ConcurrentMap<Nøkkel, CompletableFuture<Object>>> minnePerKontekst = Collections.synchronizedMap(new WeakHashMap<>());
+
+    <T> T hentEllerSlåOpp(Oppslag oppslag, String ident, Supplier<T> oppslagMotPdl) {
+        return hentEllerSlåOpp(oppslag, ident, null, oppslagMotPdl);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T hentEllerSlåOpp(Oppslag oppslag, String ident, Ytelsetype ytelse, Supplier<T> oppslagMotPdl) {
+        var minne = minneForKontekst();
+        if (minne == null) {
+            return oppslagMotPdl.get();
+        }
+        var nøkkel = new Nøkkel(oppslag, ident, ytelse);
+        var nyttOppslag = new CompletableFuture<Object>();
+        var tidligere = minne.putIfAbsent(nøkkel, nyttOppslag);
+        if (tidligere != null) {
+            MetrikkerTjeneste.loggDeduplisertPdlOppslag(oppslag.name());
+            return (T) ParallellKjøring.hent(tidligere, "oppslag mot PDL");
+        }
+        try {
+            var resultat = oppslagMotPdl.get();
+            if (resultat == null) {
+                minne.remove(nøkkel, nyttOppslag);
+            }
+            nyttOppslag.complete(resultat);
+            return resultat;
+        } catch (RuntimeException | Error e) {
+            minne.remove(nøkkel, nyttOppslag);
+            nyttOppslag.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    void husk(Oppslag oppslag, String ident, Object resultat) {
+        var minne = minneForKontekst();
+        if (minne != null && resultat != null) {
+            minne.putIfAbsent(new Nøkkel(oppslag, ident, null), CompletableFuture.completedFuture(resultat));
+        }
+    }
+
+    private ConcurrentMap<Nøkkel, CompletableFuture<Object>> minneForKontekst() {
+        var kontekst = KontekstHolder.harKontekst() ? KontekstHolder.getKontekst() : null;
+        if (kontekst == null) {
+            return null;
+        }
+        return minnePerKontekst.computeIfAbsent(kontekst, k -> new ConcurrentHashMap<>());
+    }
+}
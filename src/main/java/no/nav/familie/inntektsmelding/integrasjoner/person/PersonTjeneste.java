@@ -12,6 +12,7 @@ import jakarta.ws.rs.ProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import no.nav.familie.inntektsmelding.integrasjoner.person.PdlOppslagMinne.Oppslag;
 import no.nav.familie.inntektsmelding.koder.Ytelsetype;
 import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
 import no.nav.pdl.Foedselsdato;
@@ -35,6 +36,8 @@ import no.nav.vedtak.sikkerhet.kontekst.KontekstHolder;
 @ApplicationScoped
 public class PersonTjeneste {
     private static final Logger LOG = LoggerFactory.getLogger(PersonTjeneste.class);
+    private final PdlOppslagMinne oppslagMinne = new PdlOppslagMinne();
+    private final IdentCache identCache = new IdentCache();
     private PdlKlient pdlKlient;
 
     PersonTjeneste() {
@@ -47,6 +50,11 @@ public class PersonTjeneste {
     }
 
     public PersonInfo hentPersonInfoFraAktørId(AktørIdEntitet aktørId, Ytelsetype ytelseType) {
+        return oppslagMinne.hentEllerSlåOpp(Oppslag.PERSON_FRA_AKTØRID, aktørId.getAktørId(), ytelseType,
+            () -> hentPersonInfoFraAktørIdFraPdl(aktørId, ytelseType));
+    }
+
+    private PersonInfo hentPersonInfoFraAktørIdFraPdl(AktørIdEntitet aktørId, Ytelsetype ytelseType) {
         var request = new HentPersonQueryRequest();
         request.setIdent(aktørId.getAktørId());
 
@@ -57,13 +65,19 @@ public class PersonTjeneste {
             () -> new IllegalStateException("Finner ikke personnummer for id " + aktørId));
 
         LOG.info("Henter personobjekt");
-        var person = pdlKlient.hentPerson(utledYtelse(), request, projection);
+        var person = pdlKlient.hentPerson(utledYtelse(ytelseType), request, projection);
 
         var navn = person.getNavn().getFirst();
+        oppslagMinne.husk(Oppslag.AKTØRID_FOR_IDENT, personIdent.getIdent(), Optional.of(aktørId));
         return new PersonInfo(navn.getFornavn(), navn.getMellomnavn(), navn.getEtternavn(), personIdent, aktørId, mapFødselsdato(person), null);
     }
 
     public PersonInfo hentPersonFraIdent(PersonIdent personIdent, Ytelsetype ytelseType) {
+        return oppslagMinne.hentEllerSlåOpp(Oppslag.PERSON_FRA_IDENT, personIdent.getIdent(), ytelseType,
+            () -> hentPersonFraIdentFraPdl(personIdent, ytelseType));
+    }
+
+    private PersonInfo hentPersonFraIdentFraPdl(PersonIdent personIdent, Ytelsetype ytelseType) {
         var request = new HentPersonQueryRequest();
         request.setIdent(personIdent.getIdent());
 
@@ -72,15 +86,26 @@ public class PersonTjeneste {
             .foedselsdato(new FoedselsdatoResponseProjection().foedselsdato());
 
         var aktørId = finnAktørIdForIdent(personIdent);
-        var person = pdlKlient.hentPerson(utledYtelse(), request, projection);
+        var person = pdlKlient.hentPerson(utledYtelse(ytelseType), request, projection);
         var navn = person.getNavn().getFirst();
+        aktørId.ifPresent(a -> oppslagMinne.husk(Oppslag.IDENT_FOR_AKTØRID, a.getAktørId(), Optional.of(personIdent)));
 
         return new PersonInfo(navn.getFornavn(), navn.getMellomnavn(), navn.getEtternavn(), personIdent, aktørId.orElse(null), mapFødselsdato(person),
             mapTelefonnummer(person));
     }
 
     private Optional<AktørIdEntitet> finnAktørIdForIdent(PersonIdent personIdent) {
-        return pdlKlient.hentAktørIdForPersonIdent(personIdent.getIdent(), true).map(AktørIdEntitet::new);
+        return oppslagMinne.hentEllerSlåOpp(Oppslag.AKTØRID_FOR_IDENT, personIdent.getIdent(), () -> finnAktørIdForIdentFraCacheEllerPdl(personIdent));
+    }
+
+    private Optional<AktørIdEntitet> finnAktørIdForIdentFraCacheEllerPdl(PersonIdent personIdent) {
+        var cachet = identCache.finnAktørId(personIdent);
+        if (cachet.isPresent()) {
+            return cachet;
+        }
+        var aktørId = pdlKlient.hentAktørIdForPersonIdent(personIdent.getIdent(), true).map(AktørIdEntitet::new);
+        aktørId.ifPresentOrElse(a -> identCache.huskAktørId(personIdent, a), () -> identCache.glem(personIdent));
+        return aktørId;
     }
 
     public PersonIdent finnPersonIdentForAktørId(AktørIdEntitet aktørIdEntitet) {
@@ -109,6 +134,20 @@ public class PersonTjeneste {
     }
 
     private Optional<PersonIdent> hentPersonidentForAktørId(AktørIdEntitet aktørId) {
+        return oppslagMinne.hentEllerSlåOpp(Oppslag.IDENT_FOR_AKTØRID, aktørId.getAktørId(), () -> hentPersonidentForAktørIdFraCacheEllerPdl(aktørId));
+    }
+
+    private Optional<PersonIdent> hentPersonidentForAktørIdFraCacheEllerPdl(AktørIdEntitet aktørId) {
+        var cachet = identCache.finnPersonIdent(aktørId);
+        if (cachet.isPresent()) {
+            return cachet;
+        }
+        var personIdent = hentPersonidentForAktørIdFraPdl(aktørId);
+        personIdent.ifPresentOrElse(i -> identCache.husk(aktørId, i), () -> identCache.glem(aktørId));
+        return personIdent;
+    }
+
+    private Optional<PersonIdent> hentPersonidentForAktørIdFraPdl(AktørIdEntitet aktørId) {
         var request = new HentIdenterQueryRequest();
         request.setIdent(aktørId.getAktørId());
         request.setGrupper(List.of(IdentGruppe.FOLKEREGISTERIDENT, IdentGruppe.NPID));
@@ -130,8 +169,10 @@ public class PersonTjeneste {
     }
 
     // TODO: utled riktig ytlese for ytelser i k9. Krever at vi går bort fra fp-felles og bruker k9-felles
-    private static Persondata.Ytelse utledYtelse() {
-        return Persondata.Ytelse.PLEIEPENGER;
+    private static Persondata.Ytelse utledYtelse(Ytelsetype ytelseType) {
+        return switch (ytelseType) {
+            case PLEIEPENGER_SYKT_BARN, PLEIEPENGER_NÆRSTÅENDE, OPPLÆRINGSPENGER, OMSORGSPENGER -> Persondata.Ytelse.PLEIEPENGER;
+        };
     }
 
 }
@@ -1,9 +1,11 @@
 package no.nav.familie.inntektsmelding.metrikker;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -51,7 +53,17 @@ public class MetrikkerTjeneste {
 
     // Måler hvor mange oppgaver som lukkes etter at fagsystem melder om en inntektsmelding ftinntektsmelding ikke kjenner til
     private static final String COUNTER_LUKK_EKSTERN = APP_NAME + ".oppgaver.lukk.ekstern";
+    // Måler hvor mange oppslag mot PDL som ble besvart fra tidligere oppslag i samme kall eller prosesstask
+    private static final String COUNTER_PDL_DEDUPLISERT = APP_NAME + ".pdl.oppslag.deduplisert";
+    // Måler treff og bom ved oppslag i applikasjonens cacher
+    private static final String COUNTER_CACHE_OPPSLAG = APP_NAME + ".cache.oppslag";
+
+    // Måler hvor lang tid det tar å laste en verdi inn i applikasjonens cacher
+    private static final String TIMER_CACHE_LASTING = APP_NAME + ".cache.lasting";
     private static final String TAG_YTELSE = "ytelse";
+    private static final String TAG_CACHE = "cache";
+    private static final String TAG_RESULTAT = "resultat";
+    private static final String TAG_OPPSLAG = "oppslag";
     private static final String TAG_AARSAK = "aarsak";
 
     public static void loggForespørselOpprettet(Ytelsetype ytelsetype) {
@@ -88,6 +100,31 @@ public class MetrikkerTjeneste {
         }
     }
 
+    public static void loggDeduplisertPdlOppslag(String oppslag) {
+        try {
+            Metrics.counter(COUNTER_PDL_DEDUPLISERT, List.of(new ImmutableTag(TAG_OPPSLAG, oppslag))).increment();
+        } catch (Exception e) {
+            loggFeil(e, "loggDeduplisertPdlOppslag");
+        }
+    }
+
+    public static void loggCacheOppslag(String cache, boolean treff) {
+        try {
+            Metrics.counter(COUNTER_CACHE_OPPSLAG, List.of(new ImmutableTag(TAG_CACHE, cache), new ImmutableTag(TAG_RESULTAT, treff ? "treff" : "bom")))
+                .increment();
+        } catch (Exception e) {
+            loggFeil(e, "loggCacheOppslag");
+        }
+    }
+
+    public static void loggCacheLasting(String cache, Duration varighet) {
+        try {
+            Metrics.timer(TIMER_CACHE_LASTING, List.of(new ImmutableTag(TAG_CACHE, cache))).record(varighet);
+        } catch (Exception e) {
+            loggFeil(e, "loggCacheLasting");
+        }
+    }
+
     private static void forsøkLoggForespørselLukkEkstern(ForespørselEntitet forespørsel) {
         var tags = new ArrayList<Tag>();
         tags.add(new ImmutableTag(TAG_YTELSE, forespørsel.getYtelseType().name()));
@@ -1,5 +1,10 @@
 package no.nav.familie.inntektsmelding.pip;
 
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import jakarta.enterprise.context.Dependent;
 
 import no.nav.familie.inntektsmelding.integrasjoner.altinn.AltinnAutoriseringKlient;
@@ -24,4 +29,25 @@ public class AltinnTilgangTjeneste {
     public boolean manglerTilgangTilBedriften(String orgNr) {
         return !harTilgangTilBedriften(orgNr);
     }
+
+    public Set<String> hentOrganisasjonerMedTilgang() {
+        return altinnKlient.hentOrganisasjonerMedTilgang();
+    }
+
+    /**
+     * Sjekker tilgang til flere bedrifter med ett oppslag mot Altinn.
+     *
+     * @param orgNumre organisasjonsnumre som skal sjekkes
+     * @return de av organisasjonsnumrene bruker har tilgang til
+     */
+    public Set<String> filtrerTilgang(Collection<String> orgNumre) {
+        if (orgNumre.isEmpty()) {
+            return Set.of();
+        }
+        var organisasjonerMedTilgang = hentOrganisasjonerMedTilgang();
+        return orgNumre.stream()
+            .filter(Objects::nonNull)
+            .filter(organisasjonerMedTilgang::contains)
+            .collect(Collectors.toSet());
+    }
 }
@@ -2,36 +2,66 @@ package no.nav.familie.inntektsmelding.pip;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
-import no.nav.familie.inntektsmelding.forespørsel.tjenester.ForespørselTjeneste;
-import no.nav.familie.inntektsmelding.imdialog.tjenester.InntektsmeldingTjeneste;
+import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselRepository;
+import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingRepository;
+import no.nav.familie.inntektsmelding.metrikker.MetrikkerTjeneste;
 import no.nav.familie.inntektsmelding.typer.dto.OrganisasjonsnummerDto;
+import no.nav.vedtak.util.LRUCache;
 
+/**
+ * Slår opp hvilken bedrift en forespørsel eller inntektsmelding tilhører, som grunnlag for tilgangskontroll.
+ * Organisasjonsnummeret endres aldri etter at raden er opprettet, så treff caches uten at cachen må ryddes ved endringer.
+ * Bom caches ikke, slik at en forespørsel som opprettes etter et mislykket oppslag blir funnet ved neste kall.
+ */
 @ApplicationScoped
 public class PipTjeneste {
-    private ForespørselTjeneste forespørselTjeneste;
-    private InntektsmeldingTjeneste inntektsmeldingTjeneste;
+
+    private static final String CACHE_NAVN = "pip";
+    private static final long CACHE_ELEMENT_LIVE_TIME_MS = TimeUnit.MILLISECONDS.convert(12, TimeUnit.HOURS);
+    private static final int CACHE_STØRRELSE = 10_000;
+
+    private final LRUCache<UUID, OrganisasjonsnummerDto> forForespørsel = new LRUCache<>(CACHE_STØRRELSE, CACHE_ELEMENT_LIVE_TIME_MS);
+    private final LRUCache<Long, OrganisasjonsnummerDto> forInntektsmelding = new LRUCache<>(CACHE_STØRRELSE, CACHE_ELEMENT_LIVE_TIME_MS);
+
+    private ForespørselRepository forespørselRepository;
+    private InntektsmeldingRepository inntektsmeldingRepository;
 
     PipTjeneste() {
         // CDI proxy
     }
 
     @Inject
-    public PipTjeneste(ForespørselTjeneste forespørselTjeneste, InntektsmeldingTjeneste inntektsmeldingTjeneste) {
-        this.forespørselTjeneste = forespørselTjeneste;
-        this.inntektsmeldingTjeneste = inntektsmeldingTjeneste;
+    public PipTjeneste(ForespørselRepository forespørselRepository, InntektsmeldingRepository inntektsmeldingRepository) {
+        this.forespørselRepository = forespørselRepository;
+        this.inntektsmeldingRepository = inntektsmeldingRepository;
     }
 
     public OrganisasjonsnummerDto hentOrganisasjonsnummerFor(UUID forespørselUuid) {
-        return forespørselTjeneste.hentForespørsel(forespørselUuid).map(f -> new OrganisasjonsnummerDto(f.getOrganisasjonsnummer())).orElse(null);
+        return hentMedCache(forForespørsel, forespørselUuid, () -> forespørselRepository.hentOrganisasjonsnummer(forespørselUuid));
     }
 
     public OrganisasjonsnummerDto hentOrganisasjonsnummerFor(long inntektsmeldingId) {
-        return Optional.ofNullable(inntektsmeldingTjeneste.hentInntektsmelding(inntektsmeldingId))
-            .map(f -> new OrganisasjonsnummerDto(f.getArbeidsgiverIdent()))
-            .orElse(null);
+        return hentMedCache(forInntektsmelding, inntektsmeldingId, () -> inntektsmeldingRepository.hentArbeidsgiverIdent(inntektsmeldingId));
+    }
+
+    private static <K> OrganisasjonsnummerDto hentMedCache(LRUCache<K, OrganisasjonsnummerDto> cache, K nøkkel, Supplier<Optional<String>> oppslag) {
+        var cachet = cache.get(nøkkel);
+        MetrikkerTjeneste.loggCacheOppslag(CACHE_NAVN, cachet != null);
+        if (cachet != null) {
+            return cachet;
+        }
+        var orgnr = oppslag.get();
+        if (orgnr.isEmpty()) {
+            return null;
+        }
+        var resultat = new OrganisasjonsnummerDto(orgnr.get());
+        cache.put(nøkkel, resultat);
+        return resultat;
     }
 }
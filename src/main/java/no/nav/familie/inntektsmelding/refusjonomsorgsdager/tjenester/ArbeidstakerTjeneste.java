@@ -39,9 +39,11 @@ public class ArbeidstakerTjeneste {
             return Collections.emptyList();
         }
 
+        var organisasjonerMedTilgang = altinnTilgangTjeneste.filtrerTilgang(
+            alleArbeidsforhold.stream().map(ArbeidsforholdDto::organisasjonsnummer).toList());
         var arbeidsforholdInnsenderHarTilgangTil = alleArbeidsforhold
             .stream()
-            .filter(dto -> altinnTilgangTjeneste.harTilgangTilBedriften(dto.organisasjonsnummer()))
+            .filter(dto -> organisasjonerMedTilgang.contains(dto.organisasjonsnummer()))
             .toList();
 
         if (alleArbeidsforhold.size() > arbeidsforholdInnsenderHarTilgangTil.size()) {
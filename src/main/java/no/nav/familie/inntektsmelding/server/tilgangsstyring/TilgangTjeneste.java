@@ -1,10 +1,6 @@
 package no.nav.familie.inntektsmelding.server.tilgangsstyring;
 
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
@@ -41,35 +37,21 @@ public class TilgangTjeneste implements Tilgang {
     public void sjekkAtArbeidsgiverHarTilgangTilBedrift(UUID forespørselUuid) {
         sjekkErBorger();
 
-        var orgNrSet = Optional.of(forespørselUuid)
-            .stream()
-            .map(pipTjeneste::hentOrganisasjonsnummerFor)
-            .filter(Objects::nonNull)
-            .map(OrganisasjonsnummerDto::orgnr)
-            .collect(Collectors.toSet());
-
-        sjekkBorgersAltinnTilgangTilOrganisasjon(orgNrSet);
+        sjekkBorgersAltinnTilgangTilOrganisasjon(pipTjeneste.hentOrganisasjonsnummerFor(forespørselUuid));
     }
 
     @Override
     public void sjekkAtArbeidsgiverHarTilgangTilBedrift(OrganisasjonsnummerDto organisasjonsnummer) {
         sjekkErBorger();
 
-        sjekkBorgersAltinnTilgangTilOrganisasjon(Set.of(organisasjonsnummer.orgnr()));
+        sjekkBorgersAltinnTilgangTilOrganisasjon(organisasjonsnummer);
     }
 
     @Override
     public void sjekkAtArbeidsgiverHarTilgangTilBedrift(long inntektsmeldingId) {
         sjekkErBorger();
 
-        var orgNrSet = Optional.of(inntektsmeldingId)
-            .stream()
-            .map(pipTjeneste::hentOrganisasjonsnummerFor)
-            .filter(Objects::nonNull)
-            .map(OrganisasjonsnummerDto::orgnr)
-            .collect(Collectors.toSet());
-
-        sjekkBorgersAltinnTilgangTilOrganisasjon(orgNrSet);
+        sjekkBorgersAltinnTilgangTilOrganisasjon(pipTjeneste.hentOrganisasjonsnummerFor(inntektsmeldingId));
     }
 
     @Override
@@ -112,16 +94,15 @@ public class TilgangTjeneste implements Tilgang {
         ikkeTilgang("Kun borger kall støttes.");
     }
 
-    private void sjekkBorgersAltinnTilgangTilOrganisasjon(Set<String> organisasjoner) {
-        if (organisasjoner.isEmpty()) {
+    private void sjekkBorgersAltinnTilgangTilOrganisasjon(OrganisasjonsnummerDto organisasjonsnummer) {
+        if (organisasjonsnummer == null) {
             ikkeTilgang("Mangler informasjon om bedrift.");
-        } else {
-            for (var orgNr : organisasjoner) {
-                if (altinnTilgangTjeneste.manglerTilgangTilBedriften(orgNr)) {
-                    SECURE_LOG.warn("Bruker mangler tilgang til bedrift {} i Altinn.", orgNr);
-                    ikkeTilgang("Bruker mangler tilgang til bedriften i Altinn.");
-                }
-            }
+            return;
+        }
+        var orgNr = organisasjonsnummer.orgnr();
+        if (altinnTilgangTjeneste.manglerTilgangTilBedriften(orgNr)) {
+            SECURE_LOG.warn("Bruker mangler tilgang til bedrift {} i Altinn.", orgNr);
+            ikkeTilgang("Bruker mangler tilgang til bedriften i Altinn.");
         }
     }
 
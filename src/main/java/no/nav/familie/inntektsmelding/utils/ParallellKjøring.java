@@ -0,0 +1,72 @@
+package no.nav.familie.inntektsmelding.utils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.MDC;
+
+import no.nav.vedtak.exception.IntegrasjonException;
+import no.nav.vedtak.sikkerhet.kontekst.KontekstHolder;
+
+/**
+ * Kjører uavhengige oppslag samtidig på virtuelle tråder.
+ * Sikkerhetskontekst og MDC fra kallende tråd videreføres til hver oppgave, slik at klienter som
+ * henter token eller callId fra konteksten oppfører seg som ved sekvensielle kall.
+ */
+public final class ParallellKjøring {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private ParallellKjøring() {
+        // Skjul konstruktor
+    }
+
+    public static <T> CompletableFuture<T> start(Supplier<T> oppgave, Duration tidsavbrudd) {
+        var kontekst = KontekstHolder.harKontekst() ? KontekstHolder.getKontekst() : null;
+        var mdc = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+            if (kontekst != null) {
+                KontekstHolder.setKontekst(kontekst);
+            }
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return oppgave.get();
+            } finally {
+                MDC.clear();
+                if (kontekst != null) {
+                    KontekstHolder.fjernKontekst();
+                }
+            }
+        }, EXECUTOR).orTimeout(tidsavbrudd.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Venter på resultatet av en oppgave startet med {@link #start(Supplier, Duration)}.
+     * Feil fra oppgaven kastes videre uten innpakking, og tidsavbrudd gir {@link IntegrasjonException}.
+     */
+    public static <T> T hent(CompletableFuture<T> oppgave, String beskrivelse) {
+        try {
+            return oppgave.join();
+        } catch (CompletionException e) {
+            var årsak = e.getCause();
+            if (årsak instanceof TimeoutException) {
+                throw new IntegrasjonException("K9-408731", String.format("Tidsavbrudd ved %s", beskrivelse), årsak);
+            }
+            if (årsak instanceof RuntimeException re) {
+                throw re;
+            }
+            if (årsak instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+}
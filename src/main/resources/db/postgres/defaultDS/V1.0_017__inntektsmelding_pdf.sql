@@ -0,0 +1,25 @@
+CREATE TABLE INNTEKTSMELDING_PDF
+(
+    ID   BIGINT CONSTRAINT PK_INNTEKTSMELDING_PDF PRIMARY KEY,
+    INNTEKTSMELDING_ID BIGINT   NOT NULL
+        constraint FK_INNTEKTSMELDING_PDF
+            references INNTEKTSMELDING,
+    INNHOLD_HASH VARCHAR(64) NOT NULL,
+    MAL_VERSJON VARCHAR(100) NOT NULL,
+    PDF BYTEA NOT NULL,
+    SJEKKSUM VARCHAR(64) NOT NULL,
+    STOERRELSE INTEGER NOT NULL,
+    OPPRETTET_TID TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+create index IDX_INNTEKTSMELDING_PDF_IM_HASH on INNTEKTSMELDING_PDF (INNTEKTSMELDING_ID, INNHOLD_HASH);
+
+comment on table INNTEKTSMELDING_PDF is 'Generert pdf av en inntektsmelding, slik at samme dokument ikke må genereres på nytt';
+comment on column INNTEKTSMELDING_PDF.ID is 'PK';
+comment on column INNTEKTSMELDING_PDF.INNTEKTSMELDING_ID is 'Foreign Key til inntektsmelding';
+comment on column INNTEKTSMELDING_PDF.INNHOLD_HASH is 'SHA-256 av dataene pdf-en er generert fra, inkludert malversjon';
+comment on column INNTEKTSMELDING_PDF.MAL_VERSJON is 'Versjon av dokgen-malen pdf-en er generert med';
+comment on column INNTEKTSMELDING_PDF.PDF is 'Den genererte pdf-en';
+comment on column INNTEKTSMELDING_PDF.SJEKKSUM is 'SHA-256 av den lagrede pdf-en, brukes for å kontrollere innholdet før det leveres ut';
+comment on column INNTEKTSMELDING_PDF.STOERRELSE is 'Størrelsen på den lagrede pdf-en i bytes';
+comment on column INNTEKTSMELDING_PDF.OPPRETTET_TID is 'Timestamp da pdf-en ble lagret i databasen';
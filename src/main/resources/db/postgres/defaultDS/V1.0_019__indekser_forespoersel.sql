@@ -0,0 +1,12 @@
+-- Oppslag og oppdateringer fra fagsystemet går på saksnummer
+CREATE INDEX idx_forespoersel_fagsystem_saksnummer ON forespoersel (fagsystem_saksnummer);
+CREATE INDEX idx_forespoersel_aapen_fagsystem_saksnummer ON forespoersel (fagsystem_saksnummer)
+    WHERE status = 'UNDER_BEHANDLING';
+
+-- Ferdigstilling og utgåelse går på sak-id hos arbeidsgivernotifikasjon
+CREATE INDEX idx_forespoersel_sak_id ON forespoersel (sak_id);
+
+-- Oppslag for en bruker går på aktør og ytelse, filtrert på status
+CREATE INDEX idx_forespoersel_aktoer_ytelse_status ON forespoersel (bruker_aktoer_id, ytelse_type, status);
+CREATE INDEX idx_forespoersel_aapen_aktoer_ytelse_orgnr ON forespoersel (bruker_aktoer_id, ytelse_type, orgnr)
+    WHERE status = 'UNDER_BEHANDLING';
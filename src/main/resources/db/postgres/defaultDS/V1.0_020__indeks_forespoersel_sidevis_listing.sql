@@ -0,0 +1,4 @@
+-- Sidevis listing per sak sorterer på (opprettet_tid, id) og fortsetter fra forrige side.
+-- Indeksen dekker også oppslag kun på saksnummer, så den gamle indeksen erstattes.
+CREATE INDEX idx_forespoersel_saksnummer_opprettet_id ON forespoersel (fagsystem_saksnummer, opprettet_tid, id);
+DROP INDEX idx_forespoersel_fagsystem_saksnummer;
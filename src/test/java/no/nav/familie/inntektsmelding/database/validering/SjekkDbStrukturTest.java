@@ -4,11 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 
 import no.nav.familie.inntektsmelding.database.JpaExtension;
 import no.nav.vedtak.felles.testutilities.db.EntityManagerAwareTest;
@@ -356,5 +361,51 @@ class SjekkDbStrukturTest extends EntityManagerAwareTest {
         assertThat(rowList).withFailMessage(feilTekst, rowList.size(), tekst).isEmpty();
     }
 
-}
+    static Stream<Arguments> forespørselOppslag() {
+        // Der både en delvis og en full indeks passer, er det opp til planleggeren hvilken som er billigst
+        return Stream.of(
+            Arguments.of("select * from forespoersel where fagsystem_saksnummer = '123'", Set.of("idx_forespoersel_saksnummer_opprettet_id")),
+            Arguments.of("select * from forespoersel where status = 'UNDER_BEHANDLING' and fagsystem_saksnummer = '123'",
+                Set.of("idx_forespoersel_aapen_fagsystem_saksnummer", "idx_forespoersel_saksnummer_opprettet_id")),
+            Arguments.of("select * from forespoersel where sak_id = '123'", Set.of("idx_forespoersel_sak_id")),
+            Arguments.of("select * from forespoersel where bruker_aktoer_id = '9999999999999' and status != 'UTGÅTT' and ytelse_type = 'FORELDREPENGER'",
+                Set.of("idx_forespoersel_aktoer_ytelse_status")),
+            Arguments.of(
+                "select * from forespoersel where bruker_aktoer_id = '9999999999999' and status = 'UNDER_BEHANDLING' and ytelse_type = 'FORELDREPENGER' and orgnr = '999999999'",
+                Set.of("idx_forespoersel_aapen_aktoer_ytelse_orgnr", "idx_forespoersel_aktoer_ytelse_status")));
+    }
+
+    @ParameterizedTest
+    @MethodSource("forespørselOppslag")
+    @DisplayName("Test at oppslagene i ForespørselRepository bruker indeks.")
+    void skal_bruke_indeks_for_oppslag_på_forespørsel(String sql, Set<String> forventedeIndekser) {
+        // Testtabellene er så små at planleggeren ellers alltid velger sekvensiell lesing
+        getEntityManager().createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+
+        var plan = forklar(sql);
+
+        assertThat(forventedeIndekser).withFailMessage("Forventet at oppslaget bruker en av %s, men planen var:\n%s", forventedeIndekser, plan)
+            .anyMatch(indeks -> plan.contains(" " + indeks + " "));
+    }
 
+    @Test
+    @DisplayName("Test at neste side av forespørsler på en sak søker rett inn i indeksen.")
+    void skal_fortsette_sidevis_listing_fra_indeksen() {
+        getEntityManager().createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+
+        var plan = forklar("select * from forespoersel where fagsystem_saksnummer = '123' "
+            + "and (opprettet_tid, id) > ('2024-01-01 12:00:00', 1000000) order by opprettet_tid, id limit 100");
+
+        assertThat(plan).withFailMessage("Forventet at oppslaget bruker idx_forespoersel_saksnummer_opprettet_id, men planen var:\n%s", plan)
+            .contains(" idx_forespoersel_saksnummer_opprettet_id ");
+        // Sidenøkkelen må være en del av indeksbetingelsen, ikke et filter på radene etter at hele saken er lest
+        assertThat(plan.lines().filter(linje -> linje.contains("Index Cond:")))
+            .withFailMessage("Forventet at opprettet_tid inngår i indeksbetingelsen, men planen var:\n%s", plan)
+            .anyMatch(linje -> linje.contains("opprettet_tid"));
+    }
+
+    private String forklar(String sql) {
+        var query = getEntityManager().createNativeQuery("EXPLAIN " + sql, String.class);
+        return query.getResultStream().map(String.class::cast).collect(Collectors.joining("\n"));
+    }
+}
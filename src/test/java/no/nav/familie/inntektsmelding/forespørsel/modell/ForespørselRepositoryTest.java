@@ -3,13 +3,17 @@ package no.nav.familie.inntektsmelding.forespørsel.modell;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import no.nav.familie.inntektsmelding.database.JpaExtension;
+import no.nav.familie.inntektsmelding.koder.ForespørselStatus;
 import no.nav.familie.inntektsmelding.koder.Ytelsetype;
+import no.nav.familie.inntektsmelding.typer.dto.SaksnummerDto;
 import no.nav.vedtak.felles.testutilities.db.EntityManagerAwareTest;
 
 @ExtendWith(JpaExtension.class)
@@ -62,4 +66,85 @@ class ForespørselRepositoryTest extends EntityManagerAwareTest {
         assertThat(hentet.getFørsteUttaksdato()).isPresent();
         assertThat(hentet.getFørsteUttaksdato()).contains(LocalDate.now());
     }
+
+    @Test
+    void skal_hente_kun_organisasjonsnummer_for_forespørsel() {
+        var uuid = forespørselRepository.lagreForespørsel(LocalDate.now(),
+            Ytelsetype.PLEIEPENGER_SYKT_BARN,
+            "9999999999999",
+            "999999999",
+            "123",
+            null);
+
+        assertThat(forespørselRepository.hentOrganisasjonsnummer(uuid)).contains("999999999");
+        assertThat(forespørselRepository.hentOrganisasjonsnummer(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void skal_oppdatere_status_for_alle_forespørsler_på_sak() {
+        var uuid = forespørselRepository.lagreForespørsel(LocalDate.now(), Ytelsetype.PLEIEPENGER_SYKT_BARN, "9999999999999", "999999999", "123", null);
+        var uuid2 = forespørselRepository.lagreForespørsel(LocalDate.now().plusDays(1), Ytelsetype.PLEIEPENGER_SYKT_BARN, "9999999999999", "999999999",
+            "123", null);
+        assertThat(forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(uuid, "sak-1")).isEqualTo(1);
+        assertThat(forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(uuid2, "sak-1")).isEqualTo(1);
+        assertThat(forespørselRepository.oppdaterOppgaveId(uuid, "oppgave-1")).isEqualTo(1);
+
+        assertThat(forespørselRepository.ferdigstillForespørsel("sak-1")).isEqualTo(2);
+
+        // Forespørsler som allerede er lastet i persistence-konteksten ser oppdateringene etter oppfrisking
+        var hentet = forespørselRepository.hentForespørsel(uuid).orElseThrow();
+        forespørselRepository.oppfrisk(hentet);
+        assertThat(hentet.getArbeidsgiverNotifikasjonSakId()).isEqualTo("sak-1");
+        assertThat(hentet.getOppgaveId()).contains("oppgave-1");
+        assertThat(hentet.getStatus()).isEqualTo(ForespørselStatus.FERDIG);
+        var hentet2 = forespørselRepository.hentForespørsel(uuid2).orElseThrow();
+        forespørselRepository.oppfrisk(hentet2);
+        assertThat(hentet2.getStatus()).isEqualTo(ForespørselStatus.FERDIG);
+
+        assertThat(forespørselRepository.settForespørselTilUtgått("sak-1")).isEqualTo(2);
+        forespørselRepository.oppfrisk(hentet);
+        assertThat(hentet.getStatus()).isEqualTo(ForespørselStatus.UTGÅTT);
+
+        getEntityManager().clear();
+        assertThat(forespørselRepository.hentForespørsel(uuid2).map(ForespørselEntitet::getStatus)).contains(ForespørselStatus.UTGÅTT);
+        assertThat(forespørselRepository.settForespørselTilUtgått("ukjent")).isZero();
+    }
+
+    @Test
+    void skal_hente_oversikt_over_forespørsler_for_sak() {
+        var uuid = forespørselRepository.lagreForespørsel(LocalDate.now(), Ytelsetype.PLEIEPENGER_SYKT_BARN, "9999999999999", "999999999", "123",
+            LocalDate.now().plusDays(1));
+        forespørselRepository.lagreForespørsel(LocalDate.now(), Ytelsetype.PLEIEPENGER_SYKT_BARN, "9999999999999", "999999999", "456", null);
+
+        var oversikt = forespørselRepository.hentForespørselOversikt(new SaksnummerDto("123"));
+
+        assertThat(oversikt).hasSize(1);
+        var forespørsel = oversikt.getFirst();
+        assertThat(forespørsel.uuid()).isEqualTo(uuid);
+        assertThat(forespørsel.organisasjonsnummer()).isEqualTo("999999999");
+        assertThat(forespørsel.skjæringstidspunkt()).isEqualTo(LocalDate.now());
+        assertThat(forespørsel.aktørId()).isEqualTo("9999999999999");
+        assertThat(forespørsel.ytelseType()).isEqualTo(Ytelsetype.PLEIEPENGER_SYKT_BARN);
+        assertThat(forespørsel.status()).isEqualTo(ForespørselStatus.UNDER_BEHANDLING);
+        assertThat(forespørsel.førsteUttaksdato()).isEqualTo(LocalDate.now().plusDays(1));
+    }
+
+    @Test
+    void skal_bla_gjennom_forespørsler_for_sak_med_sidenøkkel() {
+        var uuider = new ArrayList<UUID>();
+        for (var i = 0; i < 5; i++) {
+            uuider.add(forespørselRepository.lagreForespørsel(LocalDate.now().plusDays(i), Ytelsetype.PLEIEPENGER_SYKT_BARN, "9999999999999",
+                "999999999", "123", null));
+        }
+        var alle = forespørselRepository.hentForespørselOversikt(new SaksnummerDto("123"));
+        assertThat(alle).extracting(ForespørselOversikt::uuid).containsExactlyInAnyOrderElementsOf(uuider);
+
+        var førsteSide = forespørselRepository.hentForespørselOversikt(new SaksnummerDto("123"), null, 2);
+        var andreSide = forespørselRepository.hentForespørselOversikt(new SaksnummerDto("123"), førsteSide.getLast().sidenøkkel(), 2);
+        var sisteSide = forespørselRepository.hentForespørselOversikt(new SaksnummerDto("123"), andreSide.getLast().sidenøkkel(), 2);
+
+        assertThat(førsteSide).containsExactlyElementsOf(alle.subList(0, 2));
+        assertThat(andreSide).containsExactlyElementsOf(alle.subList(2, 4));
+        assertThat(sisteSide).containsExactlyElementsOf(alle.subList(4, 5));
+    }
 }
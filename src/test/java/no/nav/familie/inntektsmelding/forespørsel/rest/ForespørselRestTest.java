@@ -3,6 +3,7 @@ package no.nav.familie.inntektsmelding.forespørsel.rest;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,7 +15,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselEntitet;
+import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselOversikt;
 import no.nav.familie.inntektsmelding.forespørsel.tjenester.ForespørselBehandlingTjeneste;
 import no.nav.familie.inntektsmelding.koder.ForespørselStatus;
 import no.nav.familie.inntektsmelding.koder.Ytelsetype;
@@ -24,7 +25,6 @@ import no.nav.familie.inntektsmelding.typer.dto.ForespørselAksjon;
 import no.nav.familie.inntektsmelding.typer.dto.OrganisasjonsnummerDto;
 import no.nav.familie.inntektsmelding.typer.dto.SaksnummerDto;
 import no.nav.familie.inntektsmelding.typer.dto.YtelseTypeDto;
-import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
 import no.nav.vedtak.mapper.json.DefaultJsonMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -81,13 +81,53 @@ class ForespørselRestTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
     }
 
+    @Test
+    void skal_levere_side_med_nøkkel_til_neste_side() {
+        var forespørsler = List.of(lagOversikt(1L), lagOversikt(2L), lagOversikt(3L));
+        Mockito.when(forespørselBehandlingTjeneste.hentForespørselOversiktForFagsak(new SaksnummerDto("SAK"), null, 3)).thenReturn(forespørsler);
+
+        var response = forespørselRest.hentSideMedForespørslerForSak("SAK", null, 2);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        var side = (ForespørselRest.ForespørselSideDto) response.getEntity();
+        assertThat(side.forespørsler().size()).isEqualTo(2);
+        assertThat(side.neste()).isNotNull();
+        assertThat(ForespørselRest.fraSidenøkkel(side.neste())).contains(forespørsler.get(1).sidenøkkel());
+    }
+
+    @Test
+    void skal_levere_siste_side_uten_nøkkel() {
+        var forrige = lagOversikt(2L).sidenøkkel();
+        Mockito.when(forespørselBehandlingTjeneste.hentForespørselOversiktForFagsak(new SaksnummerDto("SAK"), forrige, 3))
+            .thenReturn(List.of(lagOversikt(3L)));
+
+        var response = forespørselRest.hentSideMedForespørslerForSak("SAK", ForespørselRest.tilSidenøkkel(forrige), 2);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        var side = (ForespørselRest.ForespørselSideDto) response.getEntity();
+        assertThat(side.forespørsler().size()).isEqualTo(1);
+        assertThat(side.neste()).isNull();
+    }
+
+    @Test
+    void skal_gi_400_for_ugyldig_sidenøkkel() {
+        var response = forespørselRest.hentSideMedForespørslerForSak("SAK", "dGVzdA", 2);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+    }
+
+    private static ForespørselOversikt lagOversikt(long id) {
+        return new ForespørselOversikt(UUID.randomUUID(), BRREG_ORGNUMMER, LocalDate.now(), "1234567890134", Ytelsetype.PLEIEPENGER_SYKT_BARN,
+            ForespørselStatus.UNDER_BEHANDLING, null, LocalDateTime.of(2024, 1, 1, 12, 0).plusSeconds(id), id);
+    }
+
     @Test
     void serdes_forespørsel_mapper() {
         var expectedOrg = "123456789";
         var expectedBruker = "1233425324241";
         var expectedSkjæringstidspunkt = LocalDate.now();
-        var input = new ForespørselEntitet(expectedOrg, expectedSkjæringstidspunkt, new AktørIdEntitet(expectedBruker), Ytelsetype.PLEIEPENGER_SYKT_BARN,
-            "9876544321", expectedSkjæringstidspunkt.plusDays(10));
+        var input = new ForespørselOversikt(UUID.randomUUID(), expectedOrg, expectedSkjæringstidspunkt, expectedBruker, Ytelsetype.PLEIEPENGER_SYKT_BARN,
+            ForespørselStatus.UNDER_BEHANDLING, expectedSkjæringstidspunkt.plusDays(10), LocalDateTime.now(), 1L);
 
         var resultat = ForespørselRest.mapTilDto(input);
 
@@ -96,7 +136,8 @@ class ForespørselRestTest {
         assertThat(resultat.skjæringstidspunkt()).isEqualTo(expectedSkjæringstidspunkt);
         assertThat(resultat.brukerAktørId()).isEqualTo(new AktørIdDto(expectedBruker));
         assertThat(resultat.ytelseType()).isEqualTo(YtelseTypeDto.PLEIEPENGER_SYKT_BARN);
-        assertThat(resultat.uuid()).isNotNull();
+        assertThat(resultat.uuid()).isEqualTo(input.uuid());
+        assertThat(resultat.status()).isEqualTo(ForespørselStatus.UNDER_BEHANDLING);
     }
 
     @Test
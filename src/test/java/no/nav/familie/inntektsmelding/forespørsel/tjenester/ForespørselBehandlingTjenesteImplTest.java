@@ -24,11 +24,13 @@ import no.nav.familie.inntektsmelding.database.JpaExtension;
 import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselEntitet;
 import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselRepository;
 import no.nav.familie.inntektsmelding.forespørsel.rest.OppdaterForespørselDto;
+import no.nav.familie.inntektsmelding.forespørsel.tjenester.task.FerdigstillArbeidsgiverNotifikasjonTask;
 import no.nav.familie.inntektsmelding.forespørsel.tjenester.task.GjenåpneForespørselTask;
 import no.nav.familie.inntektsmelding.forespørsel.tjenester.task.OpprettForespørselTask;
 import no.nav.familie.inntektsmelding.forespørsel.tjenester.task.SettForespørselTilUtgåttTask;
 import no.nav.familie.inntektsmelding.forvaltning.rest.InntektsmeldingForespørselDto;
 import no.nav.familie.inntektsmelding.integrasjoner.arbeidsgivernotifikasjon.ArbeidsgiverNotifikasjon;
+import no.nav.familie.inntektsmelding.integrasjoner.arbeidsgivernotifikasjon.SakOgOppgave;
 import no.nav.familie.inntektsmelding.integrasjoner.organisasjon.OrganisasjonTjeneste;
 import no.nav.familie.inntektsmelding.integrasjoner.person.PersonIdent;
 import no.nav.familie.inntektsmelding.integrasjoner.person.PersonInfo;
@@ -39,6 +41,7 @@ import no.nav.familie.inntektsmelding.typer.dto.ForespørselAksjon;
 import no.nav.familie.inntektsmelding.typer.dto.OrganisasjonsnummerDto;
 import no.nav.familie.inntektsmelding.typer.dto.SaksnummerDto;
 import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
+import no.nav.vedtak.felles.prosesstask.api.ProsessTaskData;
 import no.nav.vedtak.felles.prosesstask.api.ProsessTaskGruppe;
 import no.nav.vedtak.felles.prosesstask.api.ProsessTaskTjeneste;
 import no.nav.vedtak.felles.prosesstask.api.TaskType;
@@ -109,17 +112,26 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
         var forespørselUuid = forespørselRepository.lagreForespørsel(SKJÆRINGSTIDSPUNKT, YTELSETYPE, AKTØR_ID, BRREG_ORGNUMMER, SAKSNUMMMER,
             SKJÆRINGSTIDSPUNKT);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid, SAK_ID);
+        clearHibernateCache();
 
-        forespørselBehandlingTjeneste.ferdigstillForespørsel(forespørselUuid,
+        var lukket = forespørselBehandlingTjeneste.ferdigstillForespørsel(forespørselUuid,
             new AktørIdEntitet(AKTØR_ID),
             new OrganisasjonsnummerDto(BRREG_ORGNUMMER),
             SKJÆRINGSTIDSPUNKT,
             LukkeÅrsak.EKSTERN_INNSENDING);
+        assertThat(lukket.getStatus()).isEqualTo(ForespørselStatus.FERDIG);
 
         clearHibernateCache();
 
         var lagret = forespørselRepository.hentForespørsel(forespørselUuid);
         assertThat(lagret.map( ForespørselEntitet::getStatus)).isEqualTo(Optional.of(ForespørselStatus.FERDIG));
+
+        var taskCaptor = ArgumentCaptor.forClass(ProsessTaskData.class);
+        verify(prosessTaskTjeneste).lagre(taskCaptor.capture());
+        assertThat(taskCaptor.getValue().taskType()).isEqualTo(TaskType.forProsessTask(FerdigstillArbeidsgiverNotifikasjonTask.class));
+        assertThat(taskCaptor.getValue().getPropertyValue(FerdigstillArbeidsgiverNotifikasjonTask.FORESPØRSEL_UUID)).isEqualTo(forespørselUuid.toString());
+        assertThat(taskCaptor.getValue().getPropertyValue(FerdigstillArbeidsgiverNotifikasjonTask.LUKKE_ÅRSAK)).isEqualTo(LukkeÅrsak.EKSTERN_INNSENDING.name());
+        verifyNoInteractions(arbeidsgiverNotifikasjon);
     }
 
     @Test
@@ -127,6 +139,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
         var forespørselUuid = forespørselRepository.lagreForespørsel(SKJÆRINGSTIDSPUNKT, YTELSETYPE, AKTØR_ID, BRREG_ORGNUMMER, SAKSNUMMMER,
             FØRSTE_UTTAKSDATO);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid, SAK_ID);
+        clearHibernateCache();
 
         forespørselBehandlingTjeneste.ferdigstillForespørsel(forespørselUuid,
             new AktørIdEntitet(AKTØR_ID),
@@ -152,6 +165,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
             SAKSNUMMMER,
             FØRSTE_UTTAKSDATO.plusDays(1));
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid2, "2");
+        clearHibernateCache();
 
         forespørselBehandlingTjeneste.lukkForespørsel(new SaksnummerDto(SAKSNUMMMER), new OrganisasjonsnummerDto(BRREG_ORGNUMMER), null);
 
@@ -175,6 +189,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
             SAKSNUMMMER,
             FØRSTE_UTTAKSDATO);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid2, "2");
+        clearHibernateCache();
 
         forespørselBehandlingTjeneste.settForespørselTilUtgått(new SaksnummerDto(SAKSNUMMMER), null, null);
 
@@ -199,6 +214,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
             SAKSNUMMMER,
             SKJÆRINGSTIDSPUNKT);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid, "2");
+        clearHibernateCache();
 
         forespørselBehandlingTjeneste.lukkForespørsel(new SaksnummerDto(SAKSNUMMMER),
             new OrganisasjonsnummerDto(BRREG_ORGNUMMER),
@@ -217,6 +233,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
         var forespørselUuid = forespørselRepository.lagreForespørsel(SKJÆRINGSTIDSPUNKT, YTELSETYPE, AKTØR_ID, BRREG_ORGNUMMER, SAKSNUMMMER,
             SKJÆRINGSTIDSPUNKT);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid, SAK_ID);
+        clearHibernateCache();
 
         var forespørsler = List.of(new OppdaterForespørselDto(SKJÆRINGSTIDSPUNKT, new OrganisasjonsnummerDto(BRREG_ORGNUMMER), ForespørselAksjon.OPPRETT));
         forespørselBehandlingTjeneste.oppdaterForespørsler(YTELSETYPE, new AktørIdEntitet(AKTØR_ID), forespørsler, new SaksnummerDto(SAKSNUMMMER));
@@ -251,6 +268,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
         var forespørselUuid = forespørselRepository.lagreForespørsel(SKJÆRINGSTIDSPUNKT, YTELSETYPE, AKTØR_ID, BRREG_ORGNUMMER, SAKSNUMMMER,
             SKJÆRINGSTIDSPUNKT);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid, SAK_ID);
+        clearHibernateCache();
 
         var forespørsler = List.of(new OppdaterForespørselDto(SKJÆRINGSTIDSPUNKT, new OrganisasjonsnummerDto(BRREG_ORGNUMMER), ForespørselAksjon.OPPRETT),
             new OppdaterForespørselDto(SKJÆRINGSTIDSPUNKT.plusDays(10), new OrganisasjonsnummerDto(BRREG_ORGNUMMER), ForespørselAksjon.OPPRETT));
@@ -271,6 +289,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
         var forespørselUuid = forespørselRepository.lagreForespørsel(SKJÆRINGSTIDSPUNKT, YTELSETYPE, AKTØR_ID, BRREG_ORGNUMMER, SAKSNUMMMER,
             SKJÆRINGSTIDSPUNKT);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid, SAK_ID);
+        clearHibernateCache();
 
         var forespørsler = List.of(new OppdaterForespørselDto(SKJÆRINGSTIDSPUNKT.plusDays(10), new OrganisasjonsnummerDto(BRREG_ORGNUMMER), ForespørselAksjon.OPPRETT));
 
@@ -296,6 +315,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
             SKJÆRINGSTIDSPUNKT);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid, SAK_ID);
         forespørselRepository.ferdigstillForespørsel(SAK_ID);
+        clearHibernateCache();
 
         var forespørsler = List.of(new OppdaterForespørselDto(SKJÆRINGSTIDSPUNKT, new OrganisasjonsnummerDto(BRREG_ORGNUMMER), ForespørselAksjon.UTGÅTT));
         forespørselBehandlingTjeneste.oppdaterForespørsler(YTELSETYPE, new AktørIdEntitet(AKTØR_ID), forespørsler, new SaksnummerDto(SAKSNUMMMER));
@@ -317,6 +337,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
             SKJÆRINGSTIDSPUNKT);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid, SAK_ID);
         forespørselRepository.settForespørselTilUtgått(SAK_ID);
+        clearHibernateCache();
 
         var forespørsler = List.of(new OppdaterForespørselDto(SKJÆRINGSTIDSPUNKT, new OrganisasjonsnummerDto(BRREG_ORGNUMMER), ForespørselAksjon.GJENOPPRETT));
         forespørselBehandlingTjeneste.oppdaterForespørsler(YTELSETYPE, new AktørIdEntitet(AKTØR_ID), forespørsler, new SaksnummerDto(SAKSNUMMMER));
@@ -335,6 +356,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
         var forespørselUuid = forespørselRepository.lagreForespørsel(SKJÆRINGSTIDSPUNKT, YTELSETYPE, AKTØR_ID, BRREG_ORGNUMMER, SAKSNUMMMER,
             SKJÆRINGSTIDSPUNKT);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid, SAK_ID);
+        clearHibernateCache();
 
         when(arbeidsgiverNotifikasjon.slettSak(SAK_ID)).thenReturn(SAK_ID);
 
@@ -352,6 +374,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
         var forespørselUuid = forespørselRepository.lagreForespørsel(SKJÆRINGSTIDSPUNKT, YTELSETYPE, AKTØR_ID, BRREG_ORGNUMMER, SAKSNUMMMER,
             SKJÆRINGSTIDSPUNKT);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuid, SAK_ID);
+        clearHibernateCache();
 
         when(arbeidsgiverNotifikasjon.slettSak(SAK_ID)).thenReturn(SAK_ID);
 
@@ -393,6 +416,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
             datoEtterStartDato);
         forespørselRepository.oppdaterArbeidsgiverNotifikasjonSakId(forespørselUuidEtterStartDato, "3");
         forespørselRepository.ferdigstillForespørsel("3");
+        clearHibernateCache();
 
         var resultat = forespørselBehandlingTjeneste.finnOpprinneligForespørsel(new AktørIdEntitet(AKTØR_ID),
             Ytelsetype.PLEIEPENGER_SYKT_BARN,
@@ -456,7 +480,7 @@ class ForespørselBehandlingTjenesteImplTest extends EntityManagerAwareTest {
 
         lenient().when(personTjeneste.hentPersonInfoFraAktørId(new AktørIdEntitet(aktørId), ytelsetype)).thenReturn(personInfo);
         lenient().when(arbeidsgiverNotifikasjon.opprettSak(any(), any(), eq(brregOrgnummer), eq(sakTittel), any())).thenReturn(sakId);
-        lenient().when(arbeidsgiverNotifikasjon.opprettOppgave(any(), any(), any(), eq(brregOrgnummer), any(), any(), any(), any()))
-            .thenReturn(oppgaveId);
+        lenient().when(arbeidsgiverNotifikasjon.opprettSakOgOppgave(any(), any(), eq(brregOrgnummer), eq(sakTittel), any(), any(), any(), any(), any(), any()))
+            .thenReturn(new SakOgOppgave(sakId, oppgaveId));
     }
 }
@@ -0,0 +1,68 @@
+package no.nav.familie.inntektsmelding.forespørsel.tjenester.task;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselEntitet;
+import no.nav.familie.inntektsmelding.forespørsel.tjenester.ForespørselBehandlingTjeneste;
+import no.nav.familie.inntektsmelding.forespørsel.tjenester.LukkeÅrsak;
+import no.nav.familie.inntektsmelding.koder.ForespørselStatus;
+import no.nav.familie.inntektsmelding.koder.Ytelsetype;
+import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
+
+class FerdigstillArbeidsgiverNotifikasjonTaskTest {
+
+    private final ForespørselEntitet entitet = new ForespørselEntitet("999999999", LocalDate.now(), new AktørIdEntitet("9999999999999"),
+        Ytelsetype.PLEIEPENGER_SYKT_BARN, "123", LocalDate.now());
+
+    private final ForespørselBehandlingTjeneste forespørselBehandlingTjeneste = Mockito.mock(ForespørselBehandlingTjeneste.class);
+
+    @Test
+    void skal_ferdigstille_sak_og_oppgave_med_tidspunkt_fra_innsending() {
+        var task = new FerdigstillArbeidsgiverNotifikasjonTask(forespørselBehandlingTjeneste);
+        var ferdigstilt = OffsetDateTime.now().minusMinutes(5);
+        var taskdata = FerdigstillArbeidsgiverNotifikasjonTask.lagTaskData(entitet, LukkeÅrsak.ORDINÆR_INNSENDING, ferdigstilt);
+
+        entitet.setStatus(ForespørselStatus.FERDIG);
+        when(forespørselBehandlingTjeneste.hentForespørsel(entitet.getUuid())).thenReturn(Optional.of(entitet));
+
+        task.doTask(taskdata);
+
+        verify(forespørselBehandlingTjeneste).ferdigstillArbeidsgiverNotifikasjon(entitet, LukkeÅrsak.ORDINÆR_INNSENDING, ferdigstilt);
+    }
+
+    @Test
+    void skal_ikke_gjøre_noe_når_forespørsel_mangler() {
+        var task = new FerdigstillArbeidsgiverNotifikasjonTask(forespørselBehandlingTjeneste);
+        var taskdata = FerdigstillArbeidsgiverNotifikasjonTask.lagTaskData(entitet, LukkeÅrsak.EKSTERN_INNSENDING, OffsetDateTime.now());
+
+        when(forespørselBehandlingTjeneste.hentForespørsel(entitet.getUuid())).thenReturn(Optional.empty());
+
+        task.doTask(taskdata);
+
+        verify(forespørselBehandlingTjeneste, never()).ferdigstillArbeidsgiverNotifikasjon(any(), any(), any());
+    }
+
+    @Test
+    void skal_ikke_ferdigstille_når_forespørselen_har_fått_ny_status() {
+        var task = new FerdigstillArbeidsgiverNotifikasjonTask(forespørselBehandlingTjeneste);
+        var taskdata = FerdigstillArbeidsgiverNotifikasjonTask.lagTaskData(entitet, LukkeÅrsak.ORDINÆR_INNSENDING, OffsetDateTime.now());
+
+        // Fagsystemet har satt forespørselen til utgått etter innsendingen, før tasken fikk kjørt
+        entitet.setStatus(ForespørselStatus.UTGÅTT);
+        when(forespørselBehandlingTjeneste.hentForespørsel(entitet.getUuid())).thenReturn(Optional.of(entitet));
+
+        task.doTask(taskdata);
+
+        verify(forespørselBehandlingTjeneste, never()).ferdigstillArbeidsgiverNotifikasjon(any(), any(), any());
+    }
+}
@@ -6,13 +6,16 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import no.nav.familie.inntektsmelding.database.JpaExtension;
 import no.nav.familie.inntektsmelding.koder.Endringsårsak;
+import no.nav.familie.inntektsmelding.koder.NaturalytelseType;
 import no.nav.familie.inntektsmelding.koder.Ytelsetype;
 import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
 import no.nav.vedtak.felles.testutilities.db.EntityManagerAwareTest;
@@ -254,5 +257,105 @@ class InntektsmeldingRepositoryTest extends EntityManagerAwareTest {
         assertThat(etterLagring.get(1).getKontaktperson().getNavn()).isEqualTo(im1.getKontaktperson().getNavn());
     }
 
+    @Test
+    void skal_hente_inntektsmeldinger_med_fast_antall_spørringer() {
+        // Arrange
+        var aktørId = new AktørIdEntitet("9999999999999");
+        var arbeidsgiverIdent = "999999999";
+        var startDato = LocalDate.now();
+        for (var i = 0; i < 3; i++) {
+            inntektsmeldingRepository.lagreInntektsmelding(InntektsmeldingEntitet.builder()
+                .medAktørId(aktørId)
+                .medKontaktperson(new KontaktpersonEntitet("Nummer " + i, "999999999"))
+                .medYtelsetype(Ytelsetype.PLEIEPENGER_SYKT_BARN)
+                .medMånedInntekt(BigDecimal.valueOf(4000))
+                .medMånedRefusjon(BigDecimal.valueOf(4000))
+                .medRefusjonOpphørsdato(Tid.TIDENES_ENDE)
+                .medStartDato(startDato)
+                .medArbeidsgiverIdent(arbeidsgiverIdent)
+                .medOpprettetTidspunkt(LocalDateTime.now().plusDays(i))
+                .medRefusjonsendringer(List.of(new RefusjonsendringEntitet(startDato.plusDays(10), BigDecimal.valueOf(2000))))
+                .medBortfaltNaturalytelser(List.of(BortaltNaturalytelseEntitet.builder()
+                    .medPeriode(startDato, Tid.TIDENES_ENDE)
+                    .medType(NaturalytelseType.LOSJI)
+                    .medMånedBeløp(BigDecimal.valueOf(20))
+                    .build()))
+                .medEndringsårsaker(List.of(EndringsårsakEntitet.builder().medÅrsak(Endringsårsak.TARIFFENDRING).medFom(startDato).build()))
+                .build());
+        }
+        getEntityManager().clear();
+        var statistikk = getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistikk.setStatisticsEnabled(true);
+        statistikk.clear();
+
+        try {
+            // Act
+            var hentet = inntektsmeldingRepository.hentInntektsmeldinger(aktørId, arbeidsgiverIdent, startDato, Ytelsetype.PLEIEPENGER_SYKT_BARN);
+            hentet.forEach(im -> {
+                assertThat(im.getKontaktperson().getNavn()).startsWith("Nummer");
+                assertThat(im.getRefusjonsendringer()).hasSize(1);
+                assertThat(im.getBorfalteNaturalYtelser()).hasSize(1);
+                assertThat(im.getEndringsårsaker()).hasSize(1);
+            });
+
+            // Assert: én spørring for inntektsmeldinger med kontaktperson, og én per samling
+            assertThat(hentet).hasSize(3);
+            assertThat(statistikk.getPrepareStatementCount()).isEqualTo(4);
+        } finally {
+            statistikk.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void skal_lagre_og_hente_pdf_for_inntektsmelding() {
+        // Arrange
+        var inntektsmelding = InntektsmeldingEntitet.builder()
+            .medAktørId(new AktørIdEntitet("9999999999999"))
+            .medKontaktperson(new KontaktpersonEntitet("Testy test", "999999999"))
+            .medYtelsetype(Ytelsetype.PLEIEPENGER_SYKT_BARN)
+            .medMånedInntekt(BigDecimal.valueOf(4000))
+            .medStartDato(LocalDate.now())
+            .medArbeidsgiverIdent("999999999")
+            .build();
+        var imId = inntektsmeldingRepository.lagreInntektsmelding(inntektsmelding);
+
+        // Act
+        inntektsmeldingRepository.lagrePdf(new InntektsmeldingPdfEntitet(inntektsmelding, "hash", "1", "pdf".getBytes(), "sjekksum"));
 
+        // Assert
+        var lagret = inntektsmeldingRepository.hentPdf(imId, "hash");
+        assertThat(lagret).isPresent();
+        assertThat(lagret.get().getPdf()).isEqualTo("pdf".getBytes());
+        assertThat(lagret.get().getMalVersjon()).isEqualTo("1");
+        assertThat(lagret.get().getStørrelse()).isEqualTo(3);
+        assertThat(inntektsmeldingRepository.hentPdf(imId, "annen hash")).isEmpty();
+        assertThat(inntektsmeldingRepository.hentSistLagredePdf(imId, "1")).isPresent();
+        assertThat(inntektsmeldingRepository.hentSistLagredePdf(imId, "2")).isEmpty();
+    }
+
+    @Test
+    void skal_beholde_tidligere_pdf_for_samme_inntektsmelding() {
+        // Arrange
+        var inntektsmelding = InntektsmeldingEntitet.builder()
+            .medAktørId(new AktørIdEntitet("9999999999999"))
+            .medKontaktperson(new KontaktpersonEntitet("Testy test", "999999999"))
+            .medYtelsetype(Ytelsetype.PLEIEPENGER_SYKT_BARN)
+            .medMånedInntekt(BigDecimal.valueOf(4000))
+            .medStartDato(LocalDate.now())
+            .medArbeidsgiverIdent("999999999")
+            .build();
+        var imId = inntektsmeldingRepository.lagreInntektsmelding(inntektsmelding);
+        inntektsmeldingRepository.lagrePdf(new InntektsmeldingPdfEntitet(inntektsmelding, "hash", "1", "pdf".getBytes(), "sjekksum"));
+
+        // Act
+        inntektsmeldingRepository.lagrePdf(new InntektsmeldingPdfEntitet(inntektsmelding, "ny hash", "1", "ny pdf".getBytes(), "ny sjekksum"));
+
+        // Assert
+        assertThat(inntektsmeldingRepository.hentPdf(imId, "hash")).isPresent();
+        assertThat(inntektsmeldingRepository.hentPdf(imId, "ny hash")).isPresent();
+        var antall = getEntityManager().createQuery("select count(p) from InntektsmeldingPdfEntitet p where p.inntektsmelding.id = :id", Long.class)
+            .setParameter("id", imId)
+            .getSingleResult();
+        assertThat(antall).isEqualTo(2L);
+    }
 }
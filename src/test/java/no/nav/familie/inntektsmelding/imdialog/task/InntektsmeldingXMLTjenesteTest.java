@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -68,7 +69,7 @@ class InntektsmeldingXMLTjenesteTest {
 
         // Assert
         // Kjører replace slik at vi kan lagre XML i mer lesbart format under
-        assertThat(xml).isEqualTo(forventetXmlPSB().replaceAll("[\r\n\t]", ""));
+        assertThat(new String(xml, StandardCharsets.UTF_8)).isEqualTo(forventetXmlPSB().replaceAll("[\r\n\t]", ""));
     }
 
     @Test
@@ -102,7 +103,7 @@ class InntektsmeldingXMLTjenesteTest {
 
         // Assert
         // Kjører replace slik at vi kan lagre XML i mer lesbart format under
-        assertThat(xml).isEqualTo(forventetXmlPN().replaceAll("[\r\n\t]", ""));
+        assertThat(new String(xml, StandardCharsets.UTF_8)).isEqualTo(forventetXmlPN().replaceAll("[\r\n\t]", ""));
     }
 
     private String forventetXmlPSB() {
@@ -2,6 +2,11 @@ package no.nav.familie.inntektsmelding.imdialog.tjenester;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
@@ -22,9 +27,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselEntitet;
 import no.nav.familie.inntektsmelding.forespørsel.tjenester.ForespørselBehandlingTjeneste;
+import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingEntitet;
+import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingPdfEntitet;
 import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingRepository;
+import no.nav.familie.inntektsmelding.imdialog.modell.KontaktpersonEntitet;
 import no.nav.familie.inntektsmelding.imdialog.rest.InntektsmeldingDialogDto;
 import no.nav.familie.inntektsmelding.imdialog.rest.SendInntektsmeldingRequestDto;
+import no.nav.familie.inntektsmelding.integrasjoner.dokgen.K9DokgenKlient;
 import no.nav.familie.inntektsmelding.integrasjoner.dokgen.K9DokgenTjeneste;
 import no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent.InntektTjeneste;
 import no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent.Inntektsopplysninger;
@@ -362,4 +371,68 @@ class InntektsmeldingTjenesteTest {
         assertThat(imDialogDto.inntektsopplysninger().gjennomsnittLønn()).isEqualByComparingTo(BigDecimal.valueOf(52000));
         assertThat(imDialogDto.forespørselUuid()).isEqualTo(forespørsel.getUuid());
     }
+
+    @Test
+    void skal_levere_lagret_pdf_uten_å_generere_på_nytt() {
+        // Arrange
+        var pdf = "pdf".getBytes();
+        when(k9DokgenTjeneste.hentLagretPdf(1L)).thenReturn(Optional.of(pdf));
+
+        // Act
+        var resultat = inntektsmeldingTjeneste.hentPDF(1L);
+
+        // Assert
+        assertThat(resultat).isEqualTo(pdf);
+        verify(k9DokgenTjeneste, never()).mapDataOgGenererPdf(any());
+        verifyNoInteractions(inntektsmeldingRepository);
+    }
+
+    @Test
+    void skal_generere_pdf_når_ingen_er_lagret() {
+        // Arrange
+        var pdf = "pdf".getBytes();
+        var inntektsmelding = InntektsmeldingEntitet.builder().build();
+        when(k9DokgenTjeneste.hentLagretPdf(1L)).thenReturn(Optional.empty());
+        when(inntektsmeldingRepository.hentInntektsmelding(1L)).thenReturn(inntektsmelding);
+        when(k9DokgenTjeneste.mapDataOgGenererPdf(inntektsmelding)).thenReturn(pdf);
+
+        // Act
+        var resultat = inntektsmeldingTjeneste.hentPDF(1L);
+
+        // Assert
+        assertThat(resultat).isEqualTo(pdf);
+    }
+
+    @Test
+    void skal_generere_pdf_på_nytt_når_lagret_kopi_er_korrupt() throws Exception {
+        // Arrange
+        var k9DokgenKlient = mock(K9DokgenKlient.class);
+        var ekteK9DokgenTjeneste = new K9DokgenTjeneste(k9DokgenKlient, personTjeneste, organisasjonTjeneste, inntektsmeldingRepository, "1");
+        inntektsmeldingTjeneste = new InntektsmeldingTjeneste(forespørselBehandlingTjeneste, inntektsmeldingRepository, personTjeneste,
+            organisasjonTjeneste, inntektTjeneste, ekteK9DokgenTjeneste, prosessTaskTjeneste, arbeidstakerTjeneste);
+        var aktørId = new AktørIdEntitet("1234567891234");
+        var inntektsmelding = InntektsmeldingEntitet.builder()
+            .medAktørId(aktørId)
+            .medKontaktperson(new KontaktpersonEntitet("Testy test", "999999999"))
+            .medYtelsetype(Ytelsetype.PLEIEPENGER_SYKT_BARN)
+            .medMånedInntekt(BigDecimal.valueOf(40000))
+            .medStartDato(LocalDate.now())
+            .medArbeidsgiverIdent("999999999")
+            .build();
+        var korruptKopi = new InntektsmeldingPdfEntitet(inntektsmelding, "hash", "1", "gammel pdf".getBytes(), "feil sjekksum");
+        var nyPdf = "ny pdf".getBytes();
+        when(inntektsmeldingRepository.hentSistLagredePdf(1L, "1")).thenReturn(Optional.of(korruptKopi));
+        when(inntektsmeldingRepository.hentInntektsmelding(1L)).thenReturn(inntektsmelding);
+        when(personTjeneste.hentPersonInfoFraAktørId(aktørId, Ytelsetype.PLEIEPENGER_SYKT_BARN)).thenReturn(
+            new PersonInfo("Test", null, "Testesen", new PersonIdent("11111111111"), aktørId, LocalDate.now(), null));
+        when(organisasjonTjeneste.finnOrganisasjon("999999999")).thenReturn(new Organisasjon("Bedrift", "999999999"));
+        when(k9DokgenKlient.genererPdf(any())).thenReturn(nyPdf);
+
+        // Act
+        var resultat = inntektsmeldingTjeneste.hentPDF(1L);
+
+        // Assert
+        assertThat(resultat).isEqualTo(nyPdf);
+        verify(k9DokgenKlient).genererPdf(any());
+    }
 }
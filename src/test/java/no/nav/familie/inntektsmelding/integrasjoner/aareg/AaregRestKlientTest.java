@@ -5,10 +5,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,7 +21,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import no.nav.familie.inntektsmelding.integrasjoner.aareg.dto.AnsettelsesperiodeDto;
 import no.nav.familie.inntektsmelding.integrasjoner.aareg.dto.ArbeidsforholdDto;
+import no.nav.familie.inntektsmelding.integrasjoner.aareg.dto.PeriodeDto;
 import no.nav.vedtak.exception.IntegrasjonException;
 import no.nav.vedtak.felles.integrasjon.rest.RestClient;
 import no.nav.vedtak.felles.integrasjon.rest.RestRequest;
@@ -131,6 +135,91 @@ class AaregRestKlientTest {
         assertThrows(IntegrasjonException.class, () -> aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, LocalDate.now()));
     }
 
+    @Test
+    void skal_gjenbruke_arbeidsforhold_for_samme_ident_og_dato() {
+        var ident = "12345678901";
+        var dato = LocalDate.now();
+        var arbeidsforhold = new ArbeidsforholdDto("123", 1234L, null, null, null, null, "ordinært");
+
+        var httpResponse = mock(HttpResponse.class);
+        when(httpResponse.body()).thenReturn(DefaultJsonMapper.toJson(List.of(arbeidsforhold)));
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(restClient.sendReturnUnhandled(any(RestRequest.class))).thenReturn(httpResponse);
+
+        var første = aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, dato);
+        var andre = aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, dato);
+        aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, dato.minusYears(1));
+
+        assertThat(andre).isEqualTo(første).containsExactly(arbeidsforhold);
+        verify(restClient, times(2)).sendReturnUnhandled(any(RestRequest.class));
+    }
+
+    @Test
+    void skal_besvare_ny_dato_innenfor_vinduet_uten_nytt_kall() {
+        var ident = "12345678901";
+        var dato = LocalDate.of(2024, 6, 1);
+        var avsluttet = new ArbeidsforholdDto("1", 1L, null,
+            new AnsettelsesperiodeDto(new PeriodeDto(LocalDate.of(2020, 1, 1), LocalDate.of(2024, 6, 30))), null, null, "ordinært");
+        var løpende = new ArbeidsforholdDto("2", 2L, null,
+            new AnsettelsesperiodeDto(new PeriodeDto(LocalDate.of(2024, 7, 1), null)), null, null, "ordinært");
+
+        var httpResponse = mock(HttpResponse.class);
+        when(httpResponse.body()).thenReturn(DefaultJsonMapper.toJson(List.of(avsluttet, løpende)));
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(restClient.sendReturnUnhandled(any(RestRequest.class))).thenReturn(httpResponse);
+
+        assertThat(aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, dato)).containsExactly(avsluttet);
+        assertThat(aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, LocalDate.of(2024, 6, 30))).containsExactly(avsluttet);
+        assertThat(aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, LocalDate.of(2024, 7, 1))).containsExactly(løpende);
+
+        verify(restClient).sendReturnUnhandled(any(RestRequest.class));
+    }
+
+    @Test
+    void skal_hente_kun_aktuell_dato_når_vinduet_er_slått_av() {
+        var klient = new AaregRestKlient(restClient, Duration.ofMinutes(5), Duration.ofMinutes(1), 0);
+        var ident = "12345678901";
+        var dato = LocalDate.of(2024, 6, 1);
+
+        var httpResponse = mock(HttpResponse.class);
+        when(httpResponse.body()).thenReturn(DefaultJsonMapper.toJson(List.of()));
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(restClient.sendReturnUnhandled(any(RestRequest.class))).thenReturn(httpResponse);
+
+        klient.finnArbeidsforholdForArbeidstaker(ident, dato);
+        klient.finnArbeidsforholdForArbeidstaker(ident, dato.plusDays(1));
+
+        verify(restClient, times(2)).sendReturnUnhandled(any(RestRequest.class));
+    }
+
+    @Test
+    void skal_huske_at_person_ikke_har_arbeidsforhold() {
+        var ident = "12345678901";
+        var dato = LocalDate.now();
+
+        var httpResponse = mock(HttpResponse.class);
+        when(httpResponse.statusCode()).thenReturn(404);
+        when(restClient.sendReturnUnhandled(any(RestRequest.class))).thenReturn(httpResponse);
+
+        assertThat(aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, dato)).isEmpty();
+        assertThat(aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, dato)).isEmpty();
+
+        verify(restClient).sendReturnUnhandled(any(RestRequest.class));
+    }
+
+    @Test
+    void skal_ikke_huske_feil_fra_aareg() {
+        var ident = "12345678901";
+        var dato = LocalDate.now();
+
+        when(restClient.sendReturnUnhandled(any(RestRequest.class))).thenThrow(new IntegrasjonException("K9-w00t", "Ukjent feil"));
+
+        assertThrows(IntegrasjonException.class, () -> aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, dato));
+        assertThrows(IntegrasjonException.class, () -> aaregRestKlient.finnArbeidsforholdForArbeidstaker(ident, dato));
+
+        verify(restClient, times(2)).sendReturnUnhandled(any(RestRequest.class));
+    }
+
     @Test
     void skal_bygge_korrekt_uri_for_arbeidsforhold() {
         // Arrange
@@ -9,8 +9,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.IntStream;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,7 +23,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import no.nav.vedtak.felles.integrasjon.rest.RestClient;
 import no.nav.vedtak.felles.integrasjon.rest.RestRequest;
 import no.nav.vedtak.sikkerhet.kontekst.BasisKontekst;
+import no.nav.vedtak.sikkerhet.kontekst.IdentType;
 import no.nav.vedtak.sikkerhet.kontekst.KontekstHolder;
+import no.nav.vedtak.sikkerhet.kontekst.RequestKontekst;
+import no.nav.vedtak.sikkerhet.oidc.config.OpenIDProvider;
+import no.nav.vedtak.sikkerhet.oidc.token.OpenIDToken;
+import no.nav.vedtak.sikkerhet.oidc.token.TokenString;
 
 @ExtendWith(MockitoExtension.class)
 class AltinnAutoriseringKlientTest {
@@ -32,6 +40,11 @@ class AltinnAutoriseringKlientTest {
         KontekstHolder.setKontekst(BasisKontekst.ikkeAutentisertRequest("k9-inntektsmelding"));
     }
 
+    @AfterEach
+    void tearDown() {
+        KontekstHolder.fjernKontekst();
+    }
+
     @Test
     void sjekkTilgang__har_tilgang_til_en_bedrift() {
         var altinnAutoriseringKlient = new AltinnAutoriseringKlient(klient);
@@ -69,6 +82,35 @@ class AltinnAutoriseringKlientTest {
         verify(klient, times(2)).sendReturnList(any(RestRequest.class), any());
     }
 
+    @Test
+    void sjekkTilgang__gjenbruker_tilganger_for_innlogget_bruker() {
+        KontekstHolder.setKontekst(
+            RequestKontekst.forRequest("12345678910", "12345678910", IdentType.EksternBruker, new OpenIDToken(OpenIDProvider.TOKENX, new TokenString("token")),
+                UUID.randomUUID(), Set.of()));
+        var altinnAutoriseringKlient = new AltinnAutoriseringKlient(klient);
+
+        when(klient.sendReturnList(any(RestRequest.class), any())).thenReturn(
+            List.of(lagAltinnReportee("Saltrød og høneby", "999999999"), lagAltinnReportee("Bedrift nr 2", "999999998")));
+
+        assertThat(altinnAutoriseringKlient.harTilgangTilBedriften("999999999")).isTrue();
+        assertThat(altinnAutoriseringKlient.harTilgangTilBedriften("999999998")).isTrue();
+        assertThat(altinnAutoriseringKlient.harTilgangTilBedriften("000000000")).isFalse();
+
+        verify(klient).sendReturnList(any(RestRequest.class), any());
+    }
+
+    @Test
+    void sjekkTilgang__cacher_ikke_uten_innlogget_bruker() {
+        var altinnAutoriseringKlient = new AltinnAutoriseringKlient(klient);
+
+        when(klient.sendReturnList(any(RestRequest.class), any())).thenReturn(List.of(lagAltinnReportee("Saltrød og høneby", "999999999")));
+
+        altinnAutoriseringKlient.harTilgangTilBedriften("999999999");
+        altinnAutoriseringKlient.harTilgangTilBedriften("999999999");
+
+        verify(klient, times(2)).sendReturnList(any(RestRequest.class), any());
+    }
+
     private static AltinnAutoriseringKlient.AltinnReportee lagAltinnReportee(String name, String orgnr) {
         return new AltinnAutoriseringKlient.AltinnReportee(name, "BEDR", orgnr, "900000000", "", "ACTIVE", "BEDR");
     }
@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
@@ -163,4 +165,67 @@ class ArbeidsgiverNotifikasjonKlientTest {
             assertThat(ex.getMessage()).contains(expectedFeilmelding);
         }
     }
+
+    @Nested
+    class SamletKall {
+
+        @Test
+        void samlet_kall_ok() {
+            var response = Map.of("data", Map.of(
+                "status", NyStatusSakVellykket.builder().setId("1").build(),
+                "tilleggsinformasjon", TilleggsinformasjonSakVellykket.builder().setId("1").build()));
+            when(restClient.sendReturnUnhandled(any(RestRequest.class))).thenReturn(new MockGraphQLHttpResponse<>(response));
+
+            var status = ArbeidsgiverNotifikasjonKlient.nyStatusSak(
+                NyStatusSakMutationRequest.builder().alias("status").setId("1").setNyStatus(SaksStatus.FERDIG).build(),
+                new NyStatusSakResultatResponseProjection().typename());
+            var tilleggsinformasjon = ArbeidsgiverNotifikasjonKlient.tilleggsinformasjonSak(
+                TilleggsinformasjonSakMutationRequest.builder().alias("tilleggsinformasjon").setId("1").build(),
+                new TilleggsinformasjonSakResultatResponseProjection().typename());
+
+            var svar = agKlient.utførSamlet(List.of(status, tilleggsinformasjon));
+
+            assertThat(svar.hent(status)).isEqualTo("1");
+            assertThat(svar.hent(tilleggsinformasjon)).isEqualTo("1");
+            verify(restClient, times(1)).sendReturnUnhandled(any(RestRequest.class));
+        }
+
+        @Test
+        void samlet_kall_validering_feil_på_ett_alias() {
+            var expectedFeilmelding = "Det har skjedd en ny feil.";
+            var response = Map.of("data", Map.of(
+                "status", NyStatusSakVellykket.builder().setId("1").build(),
+                "oppgave", new NotifikasjonFinnesIkke(expectedFeilmelding)));
+            when(restClient.sendReturnUnhandled(any(RestRequest.class))).thenReturn(new MockGraphQLHttpResponse<>(response));
+
+            var status = ArbeidsgiverNotifikasjonKlient.nyStatusSak(
+                NyStatusSakMutationRequest.builder().alias("status").setId("1").setNyStatus(SaksStatus.FERDIG).build(),
+                new NyStatusSakResultatResponseProjection().typename());
+            var oppgave = ArbeidsgiverNotifikasjonKlient.oppgaveUtført(OppgaveUtfoertMutationRequest.builder().alias("oppgave").setId("2").build(),
+                new OppgaveUtfoertResultatResponseProjection().typename());
+
+            var svar = agKlient.utførSamlet(List.of(oppgave, status));
+
+            assertThat(svar.hent(status)).isEqualTo("1");
+            var ex = assertThrows(TekniskException.class, () -> svar.hent(oppgave));
+            assertThat(ex.getMessage()).contains(expectedFeilmelding);
+        }
+
+        @Test
+        void samlet_kall_teknisk_feil() {
+            var expectedFeilmelding = "Det har skjedd en teknisk feil.";
+            var response = new ArbeidsgiverNotifikasjonKlient.SamletMutationResponse();
+            response.setErrors(
+                List.of(new GraphQLError(expectedFeilmelding, List.of(), GraphQLErrorType.OperationNotSupported, List.of(), Map.of())));
+            when(restClient.sendReturnUnhandled(any(RestRequest.class))).thenReturn(new MockGraphQLHttpResponse<>(response));
+
+            var status = ArbeidsgiverNotifikasjonKlient.nyStatusSak(
+                NyStatusSakMutationRequest.builder().alias("status").setId("1").setNyStatus(SaksStatus.FERDIG).build(),
+                new NyStatusSakResultatResponseProjection().typename());
+            var mutasjoner = List.<ArbeidsgiverNotifikasjonKlient.Mutasjon<?>>of(status);
+            var ex = assertThrows(TekniskException.class, () -> agKlient.utførSamlet(mutasjoner));
+
+            assertThat(ex.getMessage()).contains(expectedFeilmelding);
+        }
+    }
 }
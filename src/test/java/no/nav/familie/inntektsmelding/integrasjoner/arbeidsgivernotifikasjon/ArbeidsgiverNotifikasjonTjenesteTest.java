@@ -3,11 +3,15 @@ package no.nav.familie.inntektsmelding.integrasjoner.arbeidsgivernotifikasjon;
 import static no.nav.familie.inntektsmelding.integrasjoner.arbeidsgivernotifikasjon.ArbeidsgiverNotifikasjonTjeneste.SERVICE_CODE;
 import static no.nav.familie.inntektsmelding.integrasjoner.arbeidsgivernotifikasjon.ArbeidsgiverNotifikasjonTjeneste.SERVICE_EDITION_CODE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 
 import java.net.URI;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +21,11 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
+import no.nav.vedtak.exception.TekniskException;
+import no.nav.vedtak.mapper.json.DefaultJsonMapper;
+
 @ExtendWith(MockitoExtension.class)
 class ArbeidsgiverNotifikasjonTjenesteTest {
 
@@ -225,4 +234,72 @@ class ArbeidsgiverNotifikasjonTjenesteTest {
             .containsEntry("tilleggsinformasjon", expectedTilleggsinformasjon)
             .containsEntry("idempotencyKey", null);
     }
+
+    @Test
+    void ferdigstill_sak_og_oppgave_i_ett_kall() {
+        var sakId = "TestId";
+        var oppgaveId = "OppgaveId";
+        var tidspunkt = OffsetDateTime.now();
+        var tilleggsinformasjon = "Mottatt inntektsmelding";
+        var svar = new ArbeidsgiverNotifikasjonKlient.SamletSvar(Map.of(
+            "oppgave", tilTre(OppgaveUtfoertVellykket.builder().setId(oppgaveId).build()),
+            "status", tilTre(NyStatusSakVellykket.builder().setId(sakId).build()),
+            "tilleggsinformasjon", tilTre(TilleggsinformasjonSakVellykket.builder().setId(sakId).build())));
+        Mockito.when(klient.utførSamlet(any())).thenReturn(svar);
+
+        tjeneste.ferdigstillSakOgOppgave(sakId, Optional.of(oppgaveId), tidspunkt, false, tilleggsinformasjon);
+
+        var mutasjoner = fangSamletKall();
+        assertThat(mutasjoner).extracting(ArbeidsgiverNotifikasjonKlient.Mutasjon::alias).containsExactly("oppgave", "status", "tilleggsinformasjon");
+        assertThat(mutasjoner.get(0).request().getRequest().getInput()).containsEntry("id", oppgaveId)
+            .containsEntry("utfoertTidspunkt", tidspunkt.format(DateTimeFormatter.ISO_DATE_TIME));
+        assertThat(mutasjoner.get(1).request().getRequest().getInput()).containsEntry("id", sakId).containsEntry("nyStatus", SaksStatus.FERDIG);
+        assertThat(mutasjoner.get(2).request().getRequest().getInput()).containsEntry("tilleggsinformasjon", tilleggsinformasjon);
+        Mockito.verifyNoMoreInteractions(klient);
+    }
+
+    @Test
+    void ferdigstill_arbeidsgiverinitiert_sak_uten_oppgave_i_ett_kall() {
+        var sakId = "TestId";
+        var svar = new ArbeidsgiverNotifikasjonKlient.SamletSvar(Map.of(
+            "status", tilTre(NyStatusSakVellykket.builder().setId(sakId).build()),
+            "tilleggsinformasjon", tilTre(TilleggsinformasjonSakVellykket.builder().setId(sakId).build())));
+        Mockito.when(klient.utførSamlet(any())).thenReturn(svar);
+
+        tjeneste.ferdigstillSakOgOppgave(sakId, Optional.empty(), OffsetDateTime.now(), true, "Mottatt");
+
+        var mutasjoner = fangSamletKall();
+        assertThat(mutasjoner).extracting(ArbeidsgiverNotifikasjonKlient.Mutasjon::alias).containsExactly("status", "tilleggsinformasjon");
+        assertThat(mutasjoner.get(0).request().getRequest().getInput())
+            .containsEntry("overstyrStatustekstMed", ArbeidsgiverNotifikasjonTjeneste.SAK_STATUS_TEKST_ARBEIDSGIVERINITIERT);
+    }
+
+    @Test
+    void opprett_sak_og_oppgave_sletter_sak_når_oppgave_feiler() {
+        var sakId = "SakId";
+        var svar = new ArbeidsgiverNotifikasjonKlient.SamletSvar(Map.of(
+            "sak", tilTre(new NySakVellykket(sakId)),
+            "oppgave", tilTre(new UgyldigMerkelapp("Ugyldig merkelapp"))));
+        Mockito.when(klient.utførSamlet(any())).thenReturn(svar);
+
+        var lenke = URI.create("https://inntektsmelding-innsendings-dialog.com");
+        assertThrows(TekniskException.class, () -> tjeneste.opprettSakOgOppgave("grupperingsid", Merkelapp.INNTEKTSMELDING_PSB, "2342342334",
+            "Inntektsmelding for person", "Tilleggsinformasjon", "eksternId", "Oppgave", "Varsel", "Påminnelse", lenke));
+
+        var mutasjoner = fangSamletKall();
+        assertThat(mutasjoner).extracting(ArbeidsgiverNotifikasjonKlient.Mutasjon::alias).containsExactly("sak", "oppgave");
+        assertThat(mutasjoner.get(0).request().getRequest().getInput()).containsEntry("tilleggsinformasjon", "Tilleggsinformasjon");
+        Mockito.verify(klient).slettSak(any(HardDeleteSakMutationRequest.class), any(HardDeleteSakResultatResponseProjection.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ArbeidsgiverNotifikasjonKlient.Mutasjon<?>> fangSamletKall() {
+        ArgumentCaptor<List<ArbeidsgiverNotifikasjonKlient.Mutasjon<?>>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(klient).utførSamlet(captor.capture());
+        return captor.getValue();
+    }
+
+    private static JsonNode tilTre(Object resultat) {
+        return DefaultJsonMapper.getObjectMapper().valueToTree(resultat);
+    }
 }
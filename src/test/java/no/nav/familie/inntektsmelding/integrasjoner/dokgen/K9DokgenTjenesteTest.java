@@ -0,0 +1,190 @@
+package no.nav.familie.inntektsmelding.integrasjoner.dokgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingEntitet;
+import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingPdfEntitet;
+import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingRepository;
+import no.nav.familie.inntektsmelding.imdialog.modell.KontaktpersonEntitet;
+import no.nav.familie.inntektsmelding.integrasjoner.organisasjon.Organisasjon;
+import no.nav.familie.inntektsmelding.integrasjoner.organisasjon.OrganisasjonTjeneste;
+import no.nav.familie.inntektsmelding.integrasjoner.person.PersonIdent;
+import no.nav.familie.inntektsmelding.integrasjoner.person.PersonInfo;
+import no.nav.familie.inntektsmelding.integrasjoner.person.PersonTjeneste;
+import no.nav.familie.inntektsmelding.koder.Ytelsetype;
+import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
+
+@ExtendWith(MockitoExtension.class)
+class K9DokgenTjenesteTest {
+    private static final long INNTEKTSMELDING_ID = 42L;
+    private static final String ORGNR = "999999999";
+    private static final AktørIdEntitet AKTØR_ID = new AktørIdEntitet("1234567891234");
+
+    @Mock
+    private K9DokgenKlient k9DokgenKlient;
+    @Mock
+    private PersonTjeneste personTjeneste;
+    @Mock
+    private OrganisasjonTjeneste organisasjonTjeneste;
+    @Mock
+    private InntektsmeldingRepository inntektsmeldingRepository;
+
+    private final List<InntektsmeldingPdfEntitet> lagredePdfer = new ArrayList<>();
+    private InntektsmeldingEntitet inntektsmelding;
+
+    @BeforeEach
+    void setUp() {
+        inntektsmelding = spy(InntektsmeldingEntitet.builder()
+            .medAktørId(AKTØR_ID)
+            .medKontaktperson(new KontaktpersonEntitet("Testy test", "999999999"))
+            .medYtelsetype(Ytelsetype.PLEIEPENGER_SYKT_BARN)
+            .medMånedInntekt(BigDecimal.valueOf(40000))
+            .medStartDato(LocalDate.now())
+            .medArbeidsgiverIdent(ORGNR)
+            .build());
+    }
+
+    private void forberedGenerering() throws Exception {
+        doReturn(INNTEKTSMELDING_ID).when(inntektsmelding).getId();
+        when(personTjeneste.hentPersonInfoFraAktørId(AKTØR_ID, Ytelsetype.PLEIEPENGER_SYKT_BARN)).thenReturn(
+            new PersonInfo("Test", null, "Testesen", new PersonIdent("11111111111"), AKTØR_ID, LocalDate.now(), null));
+        when(k9DokgenKlient.genererPdf(any())).thenReturn("pdf".getBytes());
+        when(inntektsmeldingRepository.hentPdf(anyLong(), anyString())).thenAnswer(invocation -> lagredePdfer.stream()
+            .filter(lagret -> lagret.getInnholdHash().equals(invocation.getArgument(1)))
+            .findFirst());
+        doAnswer(invocation -> {
+            lagredePdfer.clear();
+            lagredePdfer.add(invocation.getArgument(0));
+            return null;
+        }).when(inntektsmeldingRepository).lagrePdf(any());
+    }
+
+    @Test
+    void skal_gjenbruke_lagret_pdf_når_dataene_er_uendret() throws Exception {
+        // Arrange
+        forberedGenerering();
+        when(organisasjonTjeneste.finnOrganisasjon(ORGNR)).thenReturn(new Organisasjon("Bedrift", ORGNR));
+        var tjeneste = lagTjeneste("1");
+
+        // Act
+        var første = tjeneste.mapDataOgGenererPdf(inntektsmelding);
+        var andre = tjeneste.mapDataOgGenererPdf(inntektsmelding);
+
+        // Assert
+        assertThat(andre).isEqualTo(første);
+        verify(k9DokgenKlient, times(1)).genererPdf(any());
+        verify(inntektsmeldingRepository, times(1)).lagrePdf(any());
+    }
+
+    @Test
+    void skal_generere_på_nytt_når_dataene_er_endret() throws Exception {
+        // Arrange
+        forberedGenerering();
+        when(organisasjonTjeneste.finnOrganisasjon(ORGNR)).thenReturn(new Organisasjon("Bedrift", ORGNR))
+            .thenReturn(new Organisasjon("Bedrift med nytt navn", ORGNR));
+        var tjeneste = lagTjeneste("1");
+
+        // Act
+        tjeneste.mapDataOgGenererPdf(inntektsmelding);
+        tjeneste.mapDataOgGenererPdf(inntektsmelding);
+
+        // Assert
+        verify(k9DokgenKlient, times(2)).genererPdf(any());
+        assertThat(lagredePdfer).hasSize(1);
+    }
+
+    @Test
+    void skal_generere_på_nytt_når_malversjonen_er_endret() throws Exception {
+        // Arrange
+        forberedGenerering();
+        when(organisasjonTjeneste.finnOrganisasjon(ORGNR)).thenReturn(new Organisasjon("Bedrift", ORGNR));
+
+        // Act
+        lagTjeneste("1").mapDataOgGenererPdf(inntektsmelding);
+        lagTjeneste("2").mapDataOgGenererPdf(inntektsmelding);
+
+        // Assert
+        verify(k9DokgenKlient, times(2)).genererPdf(any());
+        assertThat(lagredePdfer).hasSize(1);
+        assertThat(lagredePdfer.getFirst().getMalVersjon()).isEqualTo("2");
+    }
+
+    @Test
+    void skal_levere_lagret_pdf_som_stemmer_med_sjekksum() {
+        // Arrange
+        var pdf = "pdf".getBytes();
+        when(inntektsmeldingRepository.hentSistLagredePdf(INNTEKTSMELDING_ID, "1")).thenReturn(
+            Optional.of(new InntektsmeldingPdfEntitet(inntektsmelding, "hash", "1", pdf, sha256(pdf))));
+
+        // Act
+        var resultat = lagTjeneste("1").hentLagretPdf(INNTEKTSMELDING_ID);
+
+        // Assert
+        assertThat(resultat).contains(pdf);
+    }
+
+    @Test
+    void skal_avvise_lagret_pdf_med_feil_sjekksum() {
+        // Arrange
+        var pdf = "pdf".getBytes();
+        when(inntektsmeldingRepository.hentSistLagredePdf(INNTEKTSMELDING_ID, "1")).thenReturn(
+            Optional.of(new InntektsmeldingPdfEntitet(inntektsmelding, "hash", "1", pdf, sha256("annen pdf".getBytes()))));
+
+        // Act
+        var resultat = lagTjeneste("1").hentLagretPdf(INNTEKTSMELDING_ID);
+
+        // Assert
+        assertThat(resultat).isEmpty();
+    }
+
+    @Test
+    void skal_avvise_lagret_pdf_med_feil_størrelse() {
+        // Arrange
+        var pdf = "pdf".getBytes();
+        var lagret = spy(new InntektsmeldingPdfEntitet(inntektsmelding, "hash", "1", pdf, sha256(pdf)));
+        doReturn(pdf.length + 1).when(lagret).getStørrelse();
+        when(inntektsmeldingRepository.hentSistLagredePdf(INNTEKTSMELDING_ID, "1")).thenReturn(Optional.of(lagret));
+
+        // Act
+        var resultat = lagTjeneste("1").hentLagretPdf(INNTEKTSMELDING_ID);
+
+        // Assert
+        assertThat(resultat).isEmpty();
+    }
+
+    private static String sha256(byte[] innhold) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(innhold));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private K9DokgenTjeneste lagTjeneste(String malVersjon) {
+        return new K9DokgenTjeneste(k9DokgenKlient, personTjeneste, organisasjonTjeneste, inntektsmeldingRepository, malVersjon);
+    }
+}
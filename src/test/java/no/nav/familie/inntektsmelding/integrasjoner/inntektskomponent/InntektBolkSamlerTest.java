@@ -0,0 +1,169 @@
+package no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import no.nav.tjenester.aordningen.inntektsinformasjon.Aktoer;
+import no.nav.tjenester.aordningen.inntektsinformasjon.AktoerType;
+import no.nav.tjenester.aordningen.inntektsinformasjon.Sikkerhetsavvik;
+import no.nav.tjenester.aordningen.inntektsinformasjon.response.HentInntektListeBolkResponse;
+import no.nav.vedtak.exception.IntegrasjonException;
+
+class InntektBolkSamlerTest {
+
+    private static final String PÅGÅENDE_AKTØR_ID = "0000000000000";
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<FinnInntektRequest> utførteKall = new CopyOnWriteArrayList<>();
+    private final CountDownLatch pågåendeKallStartet = new CountDownLatch(1);
+    private final CountDownLatch slippPågåendeKall = new CountDownLatch(1);
+
+    @Test
+    void skal_samle_samtidige_oppslag_i_ett_kall_med_felles_periode() {
+        var respons = new HentInntektListeBolkResponse();
+        var samler = lagSamlerMedPågåendeKall(request -> respons, Duration.ofMillis(500));
+
+        var første = CompletableFuture.supplyAsync(() -> samler.hent("1111111111111", "111111111", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+        var andre = CompletableFuture.supplyAsync(() -> samler.hent("2222222222222", "222222222", YearMonth.of(2024, 7), YearMonth.of(2024, 9)), executor);
+
+        assertThat(første.join()).isSameAs(respons);
+        assertThat(andre.join()).isSameAs(respons);
+        var bolkKall = utførteKall.getLast();
+        assertThat(utførteKall).hasSize(2);
+        assertThat(bolkKall.aktørIder()).containsExactlyInAnyOrder("1111111111111", "2222222222222");
+        assertThat(bolkKall.fom()).isEqualTo(YearMonth.of(2024, 6));
+        assertThat(bolkKall.tom()).isEqualTo(YearMonth.of(2024, 9));
+        assertThat(bolkKall.organisasjonsnumre()).containsExactlyInAnyOrder("111111111", "222222222");
+    }
+
+    @Test
+    void skal_ikke_vente_ut_vinduet_når_ingen_andre_kall_pågår() {
+        var samler = new InntektBolkSamler(request -> {
+            utførteKall.add(request);
+            return new HentInntektListeBolkResponse();
+        }, Duration.ofSeconds(30), 100);
+
+        var oppslag = CompletableFuture.supplyAsync(() -> samler.hent("1111111111111", "111111111", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+
+        assertThat(oppslag.completeOnTimeout(null, 5, TimeUnit.SECONDS).join()).isNotNull();
+        assertThat(utførteKall).hasSize(1);
+    }
+
+    @Test
+    void skal_starte_ny_bolk_når_maks_antall_identer_er_nådd() {
+        var samler = new InntektBolkSamler(request -> {
+            utførteKall.add(request);
+            return new HentInntektListeBolkResponse();
+        }, Duration.ofMillis(200), 1);
+
+        var første = CompletableFuture.supplyAsync(() -> samler.hent("1111111111111", "111111111", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+        var andre = CompletableFuture.supplyAsync(() -> samler.hent("2222222222222", "222222222", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+        CompletableFuture.allOf(første, andre).join();
+
+        assertThat(utførteKall).hasSize(2);
+    }
+
+    @Test
+    void skal_gi_feil_fra_kallet_til_alle_i_bolken() {
+        var samler = lagSamlerMedPågåendeKall(request -> {
+            throw new IntegrasjonException("K9-824246", "Feil ved kall til inntektstjenesten");
+        }, Duration.ofMillis(500));
+
+        var første = CompletableFuture.supplyAsync(() -> samler.hent("1111111111111", "111111111", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+        var andre = CompletableFuture.supplyAsync(() -> samler.hent("2222222222222", "222222222", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+
+        var ex = assertThrows(Exception.class, første::join);
+        assertThat(ex.getCause()).isInstanceOf(IntegrasjonException.class);
+        ex = assertThrows(Exception.class, andre::join);
+        assertThat(ex.getCause()).isInstanceOf(IntegrasjonException.class);
+    }
+
+    @Test
+    void skal_slå_opp_alene_når_sikkerhetsavvik_ikke_kan_knyttes_til_en_ident() {
+        var responsMedAvvik = new HentInntektListeBolkResponse();
+        var avvik = new Sikkerhetsavvik();
+        avvik.setTekst("Avvik uten ident");
+        responsMedAvvik.setSikkerhetsavvikListe(List.of(avvik));
+        var samler = lagSamlerMedPågåendeKall(request -> request.aktørIder().size() > 1 ? responsMedAvvik : new HentInntektListeBolkResponse(),
+            Duration.ofMillis(500));
+
+        var første = CompletableFuture.supplyAsync(() -> samler.hent("1111111111111", "111111111", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+        var andre = CompletableFuture.supplyAsync(() -> samler.hent("2222222222222", "222222222", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+
+        assertThat(første.join().getSikkerhetsavvikListe()).isNullOrEmpty();
+        assertThat(andre.join().getSikkerhetsavvikListe()).isNullOrEmpty();
+        assertThat(utførteKall).hasSize(4);
+        assertThat(utførteKall.subList(2, 4)).extracting(FinnInntektRequest::aktørIder)
+            .containsExactlyInAnyOrder(List.of("1111111111111"), List.of("2222222222222"));
+    }
+
+    @Test
+    void skal_dele_respons_når_sikkerhetsavvik_er_knyttet_til_en_ident_i_bolken() {
+        var responsMedAvvik = new HentInntektListeBolkResponse();
+        var avvik = new Sikkerhetsavvik();
+        avvik.setIdent(new Aktoer("2222222222222", AktoerType.AKTOER_ID));
+        avvik.setTekst("Avvik for aktør");
+        responsMedAvvik.setSikkerhetsavvikListe(List.of(avvik));
+        var samler = lagSamlerMedPågåendeKall(request -> responsMedAvvik, Duration.ofMillis(500));
+
+        var første = CompletableFuture.supplyAsync(() -> samler.hent("1111111111111", "111111111", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+        var andre = CompletableFuture.supplyAsync(() -> samler.hent("2222222222222", "222222222", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+
+        assertThat(første.join()).isSameAs(responsMedAvvik);
+        assertThat(andre.join()).isSameAs(responsMedAvvik);
+        assertThat(utførteKall).hasSize(2);
+    }
+
+    @Test
+    void skal_kalle_direkte_uten_vindu() {
+        var samler = new InntektBolkSamler(request -> {
+            utførteKall.add(request);
+            return new HentInntektListeBolkResponse();
+        }, Duration.ZERO, 100);
+
+        samler.hent("1111111111111", "111111111", YearMonth.of(2024, 6), YearMonth.of(2024, 8));
+
+        assertThat(utførteKall).containsExactly(new FinnInntektRequest("1111111111111", YearMonth.of(2024, 6), YearMonth.of(2024, 8), "111111111"));
+    }
+
+    /**
+     * Lager en samler der et kall allerede pågår, slik at nye oppslag venter ut vinduet og samles.
+     * Det pågående kallet slippes når neste bolk-kall gjøres.
+     */
+    private InntektBolkSamler lagSamlerMedPågåendeKall(Function<FinnInntektRequest, HentInntektListeBolkResponse> oppslag, Duration vindu) {
+        var samler = new InntektBolkSamler(request -> {
+            utførteKall.add(request);
+            if (request.aktørIder().contains(PÅGÅENDE_AKTØR_ID)) {
+                pågåendeKallStartet.countDown();
+                vent(slippPågåendeKall);
+                return new HentInntektListeBolkResponse();
+            }
+            slippPågåendeKall.countDown();
+            return oppslag.apply(request);
+        }, vindu, 100);
+        CompletableFuture.runAsync(() -> samler.hent(PÅGÅENDE_AKTØR_ID, "000000000", YearMonth.of(2024, 6), YearMonth.of(2024, 8)), executor);
+        vent(pågåendeKallStartet);
+        return samler;
+    }
+
+    private static void vent(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
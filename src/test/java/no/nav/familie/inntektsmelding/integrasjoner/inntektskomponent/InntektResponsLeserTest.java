@@ -0,0 +1,78 @@
+package no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import no.nav.tjenester.aordningen.inntektsinformasjon.Aktoer;
+import no.nav.tjenester.aordningen.inntektsinformasjon.AktoerType;
+import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektIdent;
+import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektInformasjon;
+import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektMaaned;
+import no.nav.tjenester.aordningen.inntektsinformasjon.inntekt.Inntekt;
+import no.nav.tjenester.aordningen.inntektsinformasjon.inntekt.InntektType;
+import no.nav.tjenester.aordningen.inntektsinformasjon.response.HentInntektListeBolkResponse;
+import no.nav.vedtak.mapper.json.DefaultJsonMapper;
+
+class InntektResponsLeserTest {
+    private static final String ORGNR = "111111111";
+    private static final String AKTØR_ID = "9999999999999";
+
+    @Test
+    void skal_kun_beholde_lønnsinntekt_fra_etterspurte_virksomheter() throws IOException {
+        var måned = YearMonth.of(2024, 9);
+        var json = lagRespons(måned, List.of(
+            lagInntekt(måned, ORGNR, InntektType.LOENNSINNTEKT, BigDecimal.valueOf(25_000)),
+            lagInntekt(måned, "222222222", InntektType.LOENNSINNTEKT, BigDecimal.valueOf(10_000)),
+            lagInntekt(måned, ORGNR, InntektType.YTELSE_FRA_OFFENTLIGE, BigDecimal.valueOf(5_000))));
+
+        var respons = InntektResponsLeser.les(new ByteArrayInputStream(json), Set.of(ORGNR));
+
+        var ident = respons.getArbeidsInntektIdentListe().getFirst();
+        assertThat(ident.getIdent().getIdentifikator()).isEqualTo(AKTØR_ID);
+        var inntekter = ident.getArbeidsInntektMaaned().getFirst().getArbeidsInntektInformasjon().getInntektListe();
+        assertThat(inntekter).hasSize(1);
+        assertThat(inntekter.getFirst().getBeloep()).isEqualByComparingTo(BigDecimal.valueOf(25_000));
+        assertThat(inntekter.getFirst().getUtbetaltIMaaned()).isEqualTo(måned);
+    }
+
+    @Test
+    void skal_lese_respons_uten_inntekter() throws IOException {
+        var json = DefaultJsonMapper.toJson(new HentInntektListeBolkResponse()).getBytes(StandardCharsets.UTF_8);
+
+        var respons = InntektResponsLeser.les(new ByteArrayInputStream(json), Set.of(ORGNR));
+
+        assertThat(respons.getArbeidsInntektIdentListe()).isNullOrEmpty();
+    }
+
+    private static byte[] lagRespons(YearMonth årMåned, List<Inntekt> inntekter) {
+        var informasjon = new ArbeidsInntektInformasjon();
+        informasjon.setInntektListe(inntekter);
+        var måned = new ArbeidsInntektMaaned();
+        måned.setAarMaaned(årMåned);
+        måned.setArbeidsInntektInformasjon(informasjon);
+        var ident = new ArbeidsInntektIdent();
+        ident.setIdent(new Aktoer(AKTØR_ID, AktoerType.AKTOER_ID));
+        ident.setArbeidsInntektMaaned(List.of(måned));
+        var respons = new HentInntektListeBolkResponse();
+        respons.setArbeidsInntektIdentListe(List.of(ident));
+        return DefaultJsonMapper.toJson(respons).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Inntekt lagInntekt(YearMonth årMåned, String orgnr, InntektType inntektType, BigDecimal beløp) {
+        var inntekt = new Inntekt();
+        inntekt.setVirksomhet(new Aktoer(orgnr, AktoerType.ORGANISASJON));
+        inntekt.setInntektType(inntektType);
+        inntekt.setUtbetaltIMaaned(årMåned);
+        inntekt.setBeloep(beløp);
+        return inntekt;
+    }
+}
@@ -1,11 +1,16 @@
 package no.nav.familie.inntektsmelding.integrasjoner.inntektskomponent;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -26,6 +31,7 @@ import no.nav.tjenester.aordningen.inntektsinformasjon.AktoerType;
 import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektIdent;
 import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektInformasjon;
 import no.nav.tjenester.aordningen.inntektsinformasjon.ArbeidsInntektMaaned;
+import no.nav.tjenester.aordningen.inntektsinformasjon.Sikkerhetsavvik;
 import no.nav.tjenester.aordningen.inntektsinformasjon.inntekt.Inntekt;
 import no.nav.tjenester.aordningen.inntektsinformasjon.inntekt.InntektType;
 import no.nav.tjenester.aordningen.inntektsinformasjon.response.HentInntektListeBolkResponse;
@@ -41,7 +47,7 @@ class InntektTjenesteTest {
 
     @BeforeEach
     void setUp() {
-        tjeneste = new InntektTjeneste(klient);
+        tjeneste = new InntektTjeneste(klient, Duration.ZERO);
     }
 
     @Test
@@ -49,7 +55,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,10,15);
         var dagensDato = stp.plusDays(10);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -74,7 +80,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,10,15);
         var dagensDato = LocalDate.of(2024,10,15);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -96,7 +102,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,10,15);
         var dagensDato = LocalDate.of(2024,10,1);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 6), YearMonth.of(2024, 9));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 6), YearMonth.of(2024, 9), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -122,7 +128,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,10,15);
         var dagensDato = LocalDate.of(2024,10,1);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 6), YearMonth.of(2024, 9));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 6), YearMonth.of(2024, 9), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -149,7 +155,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,10,15);
         var dagensDato = LocalDate.of(2024,10,15);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -174,7 +180,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,10,15);
         var dagensDato = LocalDate.of(2024,10,2);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 6), YearMonth.of(2024, 9));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 6), YearMonth.of(2024, 9), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -201,7 +207,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,10,15);
         var dagensDato = LocalDate.of(2024,10,15);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -223,7 +229,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,12,1);
         var dagensDato = LocalDate.of(2024,11,4);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 11));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 11), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -250,7 +256,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,12,1);
         var dagensDato = LocalDate.of(2024,11,4);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 11));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 11), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -277,7 +283,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,10,15);
         var dagensDato = stp.plusDays(10);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -302,7 +308,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,10,15);
         var dagensDato = stp.plusDays(10);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -327,7 +333,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,12,15);
         var dagensDato = LocalDate.of(2024,11,18);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 8), YearMonth.of(2024, 11));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 8), YearMonth.of(2024, 11), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -353,7 +359,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,12,15);
         var dagensDato = LocalDate.of(2024,11,18);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 8), YearMonth.of(2024, 11));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 8), YearMonth.of(2024, 11), ORGNR);
 
         when(klient.finnInntekt(forventetRequest)).thenThrow(new IntegrasjonException("TESTMELDING", "Noe feil"));
 
@@ -370,7 +376,7 @@ class InntektTjenesteTest {
         var aktørId = new AktørIdEntitet(AKTØR_ID);
         var stp = LocalDate.of(2024,10,15);
         var dagensDato = stp.plusDays(10);
-        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9));
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9), ORGNR);
 
         var response = new HentInntektListeBolkResponse();
         var aiResponse = new ArbeidsInntektIdent();
@@ -390,6 +396,209 @@ class InntektTjenesteTest {
         assertResultat(inntektsopplysinger, forventetListe, ORGNR, BigDecimal.valueOf(0));
     }
 
+    @Test
+    void skal_bruke_cache_frem_til_neste_rapporteringsfrist_passeres() {
+        var aktørId = new AktørIdEntitet(AKTØR_ID);
+        var stp = LocalDate.of(2024,10,15);
+        when(klient.finnInntekt(any())).thenReturn(new HentInntektListeBolkResponse());
+
+        tjeneste.hentInntekt(aktørId, stp, LocalDate.of(2024,10,25), ORGNR);
+        tjeneste.hentInntekt(aktørId, stp, LocalDate.of(2024,11,5), ORGNR);
+        verify(klient, times(1)).finnInntekt(any());
+
+        var inntektsopplysinger = tjeneste.hentInntekt(aktørId, stp, LocalDate.of(2024,11,6), ORGNR);
+        verify(klient, times(2)).finnInntekt(any());
+        assertThat(inntektsopplysinger.måneder()).extracting(Inntektsopplysninger.InntektMåned::status)
+            .containsOnly(MånedslønnStatus.IKKE_RAPPORTERT_MEN_BRUKT_I_GJENNOMSNITT);
+    }
+
+    @Test
+    void skal_ikke_cache_tomme_inntekter_ved_nedetid() {
+        var aktørId = new AktørIdEntitet(AKTØR_ID);
+        var stp = LocalDate.of(2024,10,15);
+        var dagensDato = stp.plusDays(10);
+        when(klient.finnInntekt(any())).thenThrow(new IntegrasjonException("TESTMELDING", "Noe feil"))
+            .thenReturn(new HentInntektListeBolkResponse());
+
+        var underNedetid = tjeneste.hentInntekt(aktørId, stp, dagensDato, ORGNR);
+        var etterNedetid = tjeneste.hentInntekt(aktørId, stp, dagensDato, ORGNR);
+
+        assertThat(underNedetid.måneder()).extracting(Inntektsopplysninger.InntektMåned::status).containsOnly(MånedslønnStatus.NEDETID_AINNTEKT);
+        assertThat(etterNedetid.måneder()).extracting(Inntektsopplysninger.InntektMåned::status)
+            .containsOnly(MånedslønnStatus.IKKE_RAPPORTERT_MEN_BRUKT_I_GJENNOMSNITT);
+        verify(klient, times(2)).finnInntekt(any());
+    }
+
+    @Test
+    void skal_returnere_sist_kjente_inntekter_merket_som_utdatert_ved_nedetid() {
+        var aktørId = new AktørIdEntitet(AKTØR_ID);
+        var stp = LocalDate.of(2024,10,15);
+        var response = new HentInntektListeBolkResponse();
+        var aiResponse = new ArbeidsInntektIdent();
+        aiResponse.setIdent(new Aktoer(aktørId.getAktørId(), AktoerType.AKTOER_ID));
+        aiResponse.setArbeidsInntektMaaned(List.of(getInntekt(YearMonth.of(2024,7), BigDecimal.valueOf(25_000)),
+            getInntekt(YearMonth.of(2024,8), BigDecimal.valueOf(25_000)),
+            getInntekt(YearMonth.of(2024,9), BigDecimal.valueOf(25_000))));
+        response.setArbeidsInntektIdentListe(Collections.singletonList(aiResponse));
+        when(klient.finnInntekt(any())).thenReturn(response).thenThrow(new IntegrasjonException("TESTMELDING", "Noe feil"));
+
+        var førNedetid = tjeneste.hentInntekt(aktørId, stp, LocalDate.of(2024,10,25), ORGNR);
+        var underNedetid = tjeneste.hentInntekt(aktørId, stp, LocalDate.of(2024,11,6), ORGNR);
+
+        assertThat(førNedetid.utdatert()).isFalse();
+        assertThat(underNedetid.utdatert()).isTrue();
+        assertThat(underNedetid.måneder()).isEqualTo(førNedetid.måneder());
+        assertThat(underNedetid.gjennomsnitt()).isEqualByComparingTo(BigDecimal.valueOf(25_000));
+    }
+
+    @Test
+    void skal_ikke_returnere_sist_kjente_inntekter_ved_sikkerhetsavvik() {
+        var aktørId = new AktørIdEntitet(AKTØR_ID);
+        var stp = LocalDate.of(2024,10,15);
+        var response = new HentInntektListeBolkResponse();
+        var aiResponse = new ArbeidsInntektIdent();
+        aiResponse.setIdent(new Aktoer(aktørId.getAktørId(), AktoerType.AKTOER_ID));
+        aiResponse.setArbeidsInntektMaaned(List.of(getInntekt(YearMonth.of(2024,7), BigDecimal.valueOf(25_000)),
+            getInntekt(YearMonth.of(2024,8), BigDecimal.valueOf(25_000)),
+            getInntekt(YearMonth.of(2024,9), BigDecimal.valueOf(25_000))));
+        response.setArbeidsInntektIdentListe(Collections.singletonList(aiResponse));
+        var avvik = new Sikkerhetsavvik();
+        avvik.setIdent(new Aktoer(aktørId.getAktørId(), AktoerType.AKTOER_ID));
+        avvik.setTekst("Skjermet person");
+        var responseMedAvvik = new HentInntektListeBolkResponse();
+        responseMedAvvik.setSikkerhetsavvikListe(List.of(avvik));
+        when(klient.finnInntekt(any())).thenReturn(response).thenReturn(responseMedAvvik);
+
+        var førAvvik = tjeneste.hentInntekt(aktørId, stp, LocalDate.of(2024,10,25), ORGNR);
+        var medAvvik = tjeneste.hentInntekt(aktørId, stp, LocalDate.of(2024,11,6), ORGNR);
+
+        assertThat(førAvvik.gjennomsnitt()).isEqualByComparingTo(BigDecimal.valueOf(25_000));
+        assertThat(medAvvik.utdatert()).isFalse();
+        assertThat(medAvvik.gjennomsnitt()).isNull();
+        assertThat(medAvvik.måneder()).extracting(Inntektsopplysninger.InntektMåned::beløp).containsOnlyNulls();
+        // Ingen oppfrisking i bakgrunnen
+        verify(klient, times(2)).finnInntekt(any());
+    }
+
+    @Test
+    void skal_summere_riktig_med_mange_inntektslinjer_fra_andre_virksomheter_og_typer() {
+        var aktørId = new AktørIdEntitet(AKTØR_ID);
+        var stp = LocalDate.of(2024,10,15);
+        var dagensDato = stp.plusDays(10);
+
+        var måneder = new ArrayList<ArbeidsInntektMaaned>();
+        for (var årMåned : List.of(YearMonth.of(2024, 7), YearMonth.of(2024, 8), YearMonth.of(2024, 9))) {
+            var inntekter = new ArrayList<Inntekt>();
+            for (int i = 0; i < 2_000; i++) {
+                inntekter.add(lagInntekt(årMåned, "9" + String.format("%08d", i), InntektType.LOENNSINNTEKT, BigDecimal.valueOf(1_000)));
+                inntekter.add(lagInntekt(årMåned, ORGNR, InntektType.YTELSE_FRA_OFFENTLIGE, BigDecimal.valueOf(1_000)));
+            }
+            for (int i = 0; i < 10; i++) {
+                inntekter.add(lagInntekt(årMåned, ORGNR, InntektType.LOENNSINNTEKT, BigDecimal.valueOf(2_500)));
+            }
+            var måned = new ArbeidsInntektMaaned();
+            måned.setAarMaaned(årMåned);
+            var informasjon = new ArbeidsInntektInformasjon();
+            informasjon.setInntektListe(inntekter);
+            måned.setArbeidsInntektInformasjon(informasjon);
+            måneder.add(måned);
+        }
+        var aiResponse = new ArbeidsInntektIdent();
+        aiResponse.setIdent(new Aktoer(aktørId.getAktørId(), AktoerType.AKTOER_ID));
+        aiResponse.setArbeidsInntektMaaned(måneder);
+        var response = new HentInntektListeBolkResponse();
+        response.setArbeidsInntektIdentListe(Collections.singletonList(aiResponse));
+        when(klient.finnInntekt(any())).thenReturn(response);
+
+        var inntektsopplysinger = tjeneste.hentInntekt(aktørId, stp, dagensDato, ORGNR);
+
+        var forventetListe = List.of(new Inntektsopplysninger.InntektMåned(BigDecimal.valueOf(25_000), YearMonth.of(2024, 7), MånedslønnStatus.BRUKT_I_GJENNOMSNITT)
+            , new Inntektsopplysninger.InntektMåned(BigDecimal.valueOf(25_000), YearMonth.of(2024, 8), MånedslønnStatus.BRUKT_I_GJENNOMSNITT)
+            , new Inntektsopplysninger.InntektMåned(BigDecimal.valueOf(25_000), YearMonth.of(2024, 9), MånedslønnStatus.BRUKT_I_GJENNOMSNITT));
+        assertResultat(inntektsopplysinger, forventetListe, ORGNR, BigDecimal.valueOf(25_000));
+    }
+
+    @Test
+    void skal_gi_én_oppføring_per_forekomst_når_samme_utbetalingsmåned_er_rapportert_flere_ganger() {
+        var aktørId = new AktørIdEntitet(AKTØR_ID);
+        var stp = LocalDate.of(2024,10,15);
+        var dagensDato = stp.plusDays(10);
+
+        var response = new HentInntektListeBolkResponse();
+        var aiResponse = new ArbeidsInntektIdent();
+        aiResponse.setIdent(new Aktoer(aktørId.getAktørId(), AktoerType.AKTOER_ID));
+        aiResponse.setArbeidsInntektMaaned(List.of(getInntekt(YearMonth.of(2024,7), BigDecimal.valueOf(10_000)),
+            getInntekt(YearMonth.of(2024,7), BigDecimal.valueOf(20_000)),
+            getInntekt(YearMonth.of(2024,8), BigDecimal.valueOf(25_000)),
+            getInntekt(YearMonth.of(2024,9), BigDecimal.valueOf(25_000))));
+        response.setArbeidsInntektIdentListe(Collections.singletonList(aiResponse));
+        when(klient.finnInntekt(any())).thenReturn(response);
+
+        var inntektsopplysinger = tjeneste.hentInntekt(aktørId, stp, dagensDato, ORGNR);
+
+        // De tre siste oppføringene etter sortering brukes, slik at kun den siste forekomsten av juli er med
+        var forventetListe = List.of(new Inntektsopplysninger.InntektMåned(BigDecimal.valueOf(20_000), YearMonth.of(2024, 7), MånedslønnStatus.BRUKT_I_GJENNOMSNITT)
+            , new Inntektsopplysninger.InntektMåned(BigDecimal.valueOf(25_000), YearMonth.of(2024, 8), MånedslønnStatus.BRUKT_I_GJENNOMSNITT)
+            , new Inntektsopplysninger.InntektMåned(BigDecimal.valueOf(25_000), YearMonth.of(2024, 9), MånedslønnStatus.BRUKT_I_GJENNOMSNITT));
+        assertResultat(inntektsopplysinger, forventetListe, ORGNR, BigDecimal.valueOf(23_333.33));
+    }
+
+    @Test
+    void skal_kun_gi_feil_for_aktøren_sikkerhetsavviket_gjelder_når_responsen_er_delt() {
+        var aktørUtenAvvik = new AktørIdEntitet(AKTØR_ID);
+        var aktørMedAvvik = new AktørIdEntitet("8888888888888");
+        var stp = LocalDate.of(2024,10,15);
+        var dagensDato = stp.plusDays(10);
+
+        // Samme respons deles av begge aktørene når oppslagene er samlet i én bolk
+        var response = new HentInntektListeBolkResponse();
+        var aiResponse = new ArbeidsInntektIdent();
+        aiResponse.setIdent(new Aktoer(aktørUtenAvvik.getAktørId(), AktoerType.AKTOER_ID));
+        aiResponse.setArbeidsInntektMaaned(List.of(getInntekt(YearMonth.of(2024,7), BigDecimal.valueOf(25_000)),
+            getInntekt(YearMonth.of(2024,8), BigDecimal.valueOf(25_000)),
+            getInntekt(YearMonth.of(2024,9), BigDecimal.valueOf(25_000))));
+        response.setArbeidsInntektIdentListe(Collections.singletonList(aiResponse));
+        var avvik = new Sikkerhetsavvik();
+        avvik.setIdent(new Aktoer(aktørMedAvvik.getAktørId(), AktoerType.AKTOER_ID));
+        avvik.setTekst("Skjermet person");
+        response.setSikkerhetsavvikListe(List.of(avvik));
+        when(klient.finnInntekt(any())).thenReturn(response);
+
+        var utenAvvik = tjeneste.hentInntekt(aktørUtenAvvik, stp, dagensDato, ORGNR);
+        var medAvvik = tjeneste.hentInntekt(aktørMedAvvik, stp, dagensDato, ORGNR);
+
+        assertThat(utenAvvik.gjennomsnitt()).isEqualByComparingTo(BigDecimal.valueOf(25_000));
+        assertThat(medAvvik.gjennomsnitt()).isNull();
+        assertThat(medAvvik.måneder()).extracting(Inntektsopplysninger.InntektMåned::status).containsOnly(MånedslønnStatus.NEDETID_AINNTEKT);
+    }
+
+    @Test
+    void skal_se_bort_fra_måneder_utenfor_perioden_vi_ba_om() {
+        var aktørId = new AktørIdEntitet(AKTØR_ID);
+        var stp = LocalDate.of(2024,10,15);
+        var dagensDato = stp.plusDays(10);
+        var forventetRequest = new FinnInntektRequest(aktørId.getAktørId(), YearMonth.of(2024, 7), YearMonth.of(2024, 9), ORGNR);
+
+        // Responsen dekker en lengre periode når oppslaget er samlet med andre oppslag i samme bolk
+        var response = new HentInntektListeBolkResponse();
+        var aiResponse = new ArbeidsInntektIdent();
+        aiResponse.setIdent(new Aktoer(aktørId.getAktørId(), AktoerType.AKTOER_ID));
+        var inntekt0 = getInntekt(YearMonth.of(2024,6), BigDecimal.valueOf(40_000));
+        var inntekt1 = getInntekt(YearMonth.of(2024,7), BigDecimal.valueOf(25_000));
+        var inntekt2 = getInntekt(YearMonth.of(2024,8), BigDecimal.valueOf(25_000));
+        var inntekt3 = getInntekt(YearMonth.of(2024,9), BigDecimal.valueOf(25_000));
+        aiResponse.setArbeidsInntektMaaned(List.of(inntekt0, inntekt1, inntekt2, inntekt3));
+        response.setArbeidsInntektIdentListe(Collections.singletonList(aiResponse));
+        when(klient.finnInntekt(forventetRequest)).thenReturn(response);
+
+        var inntektsopplysinger = tjeneste.hentInntekt(aktørId, stp, dagensDato, ORGNR);
+
+        var forventetListe = List.of(new Inntektsopplysninger.InntektMåned(BigDecimal.valueOf(25_000), YearMonth.of(2024, 7), MånedslønnStatus.BRUKT_I_GJENNOMSNITT)
+            , new Inntektsopplysninger.InntektMåned(BigDecimal.valueOf(25_000), YearMonth.of(2024, 8), MånedslønnStatus.BRUKT_I_GJENNOMSNITT)
+            , new Inntektsopplysninger.InntektMåned(BigDecimal.valueOf(25_000), YearMonth.of(2024, 9), MånedslønnStatus.BRUKT_I_GJENNOMSNITT));
+        assertResultat(inntektsopplysinger, forventetListe, ORGNR, BigDecimal.valueOf(25_000));
+    }
+
     private void assertResultat(Inntektsopplysninger inntektsopplysinger,
                                 List<Inntektsopplysninger.InntektMåned> forventetListe,
                                 String orgnr,
@@ -424,4 +633,12 @@ class InntektTjenesteTest {
         return inntektMånedResponse;
     }
 
+    private static Inntekt lagInntekt(YearMonth årMåned, String orgnr, InntektType inntektType, BigDecimal beløp) {
+        var inntekt = new Inntekt();
+        inntekt.setVirksomhet(new Aktoer(orgnr, AktoerType.ORGANISASJON));
+        inntekt.setInntektType(inntektType);
+        inntekt.setUtbetaltIMaaned(årMåned);
+        inntekt.setBeloep(beløp);
+        return inntekt;
+    }
 }
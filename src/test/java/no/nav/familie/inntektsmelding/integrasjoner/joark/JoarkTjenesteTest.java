@@ -8,6 +8,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -88,7 +89,7 @@ class JoarkTjenesteTest {
 
         // Act
         var fagsystemSaksnummer = "23423423";
-        var journalpostId = joarkTjeneste.journalførInntektsmelding("XML", inntektsmelding, PDFSIGNATURE, fagsystemSaksnummer);
+        var journalpostId = joarkTjeneste.journalførInntektsmelding("XML".getBytes(StandardCharsets.UTF_8), inntektsmelding, PDFSIGNATURE, fagsystemSaksnummer);
 
         // Assert
         assertThat(journalpostId).isEqualTo("9999");
@@ -133,7 +134,7 @@ class JoarkTjenesteTest {
             new PersonInfo("Navn", null, "Navnesen", new PersonIdent("9999999999999"), aktørIdSøker, LocalDate.now(), null));
         when(klient.opprettJournalpost(any(), anyBoolean())).thenReturn(new OpprettJournalpostResponse("9999", false, Collections.emptyList()));
         // Act
-        var journalpostId = joarkTjeneste.journalførInntektsmelding("XML", inntektsmelding, PDFSIGNATURE, null);
+        var journalpostId = joarkTjeneste.journalførInntektsmelding("XML".getBytes(StandardCharsets.UTF_8), inntektsmelding, PDFSIGNATURE, null);
 
         // Assert
         assertThat(journalpostId).isEqualTo("9999");
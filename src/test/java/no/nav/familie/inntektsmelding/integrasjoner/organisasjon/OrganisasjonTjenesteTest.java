@@ -1,8 +1,16 @@
 package no.nav.familie.inntektsmelding.integrasjoner.organisasjon;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,4 +46,66 @@ class OrganisasjonTjenesteTest {
         assertThat(organisasjon.navn()).isEqualTo(testNavn);
         assertThat(organisasjon.orgnr()).isEqualTo(testOrgnr);
     }
+
+    @Test
+    void gjentatte_oppslag_hentes_fra_cache() {
+        var testOrgnr = "999999999";
+        when(eregRestKlient.hentOrganisasjon(testOrgnr)).thenReturn(respons);
+        when(respons.getNavn()).thenReturn("Testbedrift");
+        when(respons.organisasjonsnummer()).thenReturn(testOrgnr);
+
+        organisasjonTjeneste.finnOrganisasjon(testOrgnr);
+        organisasjonTjeneste.finnOrganisasjon(testOrgnr);
+
+        verify(eregRestKlient, times(1)).hentOrganisasjon(testOrgnr);
+    }
+
+    @Test
+    void populære_oppføringer_oppfriskes_i_bakgrunnen_før_de_utløper() throws InterruptedException {
+        organisasjonTjeneste = new OrganisasjonTjeneste(eregRestKlient, 10, Duration.ofMillis(500));
+        var testOrgnr = "999999999";
+        when(eregRestKlient.hentOrganisasjon(testOrgnr)).thenReturn(respons);
+        when(respons.getNavn()).thenReturn("Testbedrift");
+        when(respons.organisasjonsnummer()).thenReturn(testOrgnr);
+
+        organisasjonTjeneste.finnOrganisasjon(testOrgnr);
+        Thread.sleep(420);
+        var organisasjon = organisasjonTjeneste.finnOrganisasjon(testOrgnr);
+
+        assertThat(organisasjon.navn()).isEqualTo("Testbedrift");
+        verify(eregRestKlient, timeout(1000).times(2)).hentOrganisasjon(testOrgnr);
+    }
+
+    @Test
+    void forhåndshentede_organisasjoner_hentes_fra_cache() {
+        var testOrgnr = "999999999";
+        when(eregRestKlient.hentOrganisasjon(testOrgnr)).thenReturn(respons);
+        when(respons.getNavn()).thenReturn("Testbedrift");
+        when(respons.organisasjonsnummer()).thenReturn(testOrgnr);
+
+        organisasjonTjeneste.forhåndshentOrganisasjoner(List.of(testOrgnr, testOrgnr, "ugyldig"));
+        var organisasjon = organisasjonTjeneste.finnOrganisasjon(testOrgnr);
+
+        assertThat(organisasjon.navn()).isEqualTo("Testbedrift");
+        verify(eregRestKlient, times(1)).hentOrganisasjon(testOrgnr);
+    }
+
+    @Test
+    void forhåndshenting_venter_ikke_på_enhetsregisteret() throws InterruptedException {
+        var testOrgnr = "999999999";
+        var slipp = new CountDownLatch(1);
+        when(eregRestKlient.hentOrganisasjon(testOrgnr)).thenAnswer(invocation -> {
+            slipp.await(5, TimeUnit.SECONDS);
+            return respons;
+        });
+        when(respons.getNavn()).thenReturn("Testbedrift");
+        when(respons.organisasjonsnummer()).thenReturn(testOrgnr);
+
+        organisasjonTjeneste.forhåndshentOrganisasjoner(List.of(testOrgnr));
+        verify(eregRestKlient, timeout(1000)).hentOrganisasjon(testOrgnr);
+        slipp.countDown();
+
+        assertThat(organisasjonTjeneste.finnOrganisasjon(testOrgnr).navn()).isEqualTo("Testbedrift");
+        verify(eregRestKlient, times(1)).hentOrganisasjon(testOrgnr);
+    }
 }
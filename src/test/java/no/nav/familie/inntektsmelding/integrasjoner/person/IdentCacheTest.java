@@ -0,0 +1,57 @@
+package no.nav.familie.inntektsmelding.integrasjoner.person;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
+
+class IdentCacheTest {
+
+    private static final AktørIdEntitet AKTØR_ID = new AktørIdEntitet("1234567891234");
+    private static final PersonIdent IDENT = PersonIdent.fra("11839798115");
+
+    @Test
+    void skal_huske_kobling_i_begge_retninger() {
+        var cache = new IdentCache();
+
+        cache.husk(AKTØR_ID, IDENT);
+
+        assertThat(cache.finnPersonIdent(AKTØR_ID)).contains(IDENT);
+        assertThat(cache.finnAktørId(IDENT)).contains(AKTØR_ID);
+    }
+
+    @Test
+    void skal_fjerne_historisk_ident_når_aktør_får_ny_ident() {
+        var cache = new IdentCache();
+        var nyIdent = PersonIdent.fra("21073926618");
+
+        cache.husk(AKTØR_ID, IDENT);
+        cache.husk(AKTØR_ID, nyIdent);
+
+        assertThat(cache.finnPersonIdent(AKTØR_ID)).contains(nyIdent);
+        assertThat(cache.finnAktørId(nyIdent)).contains(AKTØR_ID);
+        assertThat(cache.finnAktørId(IDENT)).isEmpty();
+    }
+
+    @Test
+    void skal_glemme_begge_retninger() {
+        var cache = new IdentCache();
+
+        cache.husk(AKTØR_ID, IDENT);
+        cache.glem(AKTØR_ID);
+
+        assertThat(cache.finnPersonIdent(AKTØR_ID)).isEmpty();
+        assertThat(cache.finnAktørId(IDENT)).isEmpty();
+    }
+
+    @Test
+    void skal_kun_huske_én_retning_ved_oppslag_på_ident() {
+        var cache = new IdentCache();
+
+        cache.huskAktørId(IDENT, AKTØR_ID);
+
+        assertThat(cache.finnAktørId(IDENT)).contains(AKTØR_ID);
+        assertThat(cache.finnPersonIdent(AKTØR_ID)).isEmpty();
+    }
+}
@@ -0,0 +1,95 @@
+package no.nav.familie.inntektsmelding.integrasjoner.person;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import no.nav.familie.inntektsmelding.integrasjoner.person.PdlOppslagMinne.Oppslag;
+import no.nav.familie.inntektsmelding.koder.Ytelsetype;
+import no.nav.familie.inntektsmelding.utils.ParallellKjøring;
+import no.nav.vedtak.sikkerhet.kontekst.IdentType;
+import no.nav.vedtak.sikkerhet.kontekst.KontekstHolder;
+import no.nav.vedtak.sikkerhet.kontekst.RequestKontekst;
+import no.nav.vedtak.sikkerhet.oidc.config.OpenIDProvider;
+import no.nav.vedtak.sikkerhet.oidc.token.OpenIDToken;
+import no.nav.vedtak.sikkerhet.oidc.token.TokenString;
+
+class PdlOppslagMinneTest {
+
+    private static final String IDENT = "11839798115";
+
+    private final PdlOppslagMinne minne = new PdlOppslagMinne();
+
+    @BeforeEach
+    void setUp() {
+        KontekstHolder.setKontekst(RequestKontekst.forRequest(IDENT, "kompakt", IdentType.EksternBruker,
+            new OpenIDToken(OpenIDProvider.TOKENX, new TokenString("token")), UUID.randomUUID(), Set.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        KontekstHolder.fjernKontekst();
+    }
+
+    @Test
+    void samtidige_oppslag_på_samme_nøkkel_skal_dele_ett_kall() throws InterruptedException {
+        var antallKall = new AtomicInteger();
+        var startet = new CountDownLatch(1);
+        var slipp = new CountDownLatch(1);
+
+        var første = ParallellKjøring.start(() -> minne.hentEllerSlåOpp(Oppslag.PERSON_FRA_IDENT, IDENT, () -> {
+            antallKall.incrementAndGet();
+            startet.countDown();
+            vent(slipp);
+            return "person";
+        }), Duration.ofSeconds(5));
+        assertThat(startet.await(5, TimeUnit.SECONDS)).isTrue();
+        var andre = ParallellKjøring.start(() -> minne.hentEllerSlåOpp(Oppslag.PERSON_FRA_IDENT, IDENT, () -> {
+            antallKall.incrementAndGet();
+            return "annen person";
+        }), Duration.ofSeconds(5));
+        slipp.countDown();
+
+        assertThat(ParallellKjøring.hent(første, "test")).isEqualTo("person");
+        assertThat(ParallellKjøring.hent(andre, "test")).isEqualTo("person");
+        assertThat(antallKall.get()).isEqualTo(1);
+    }
+
+    @Test
+    void skal_slå_opp_per_ytelse() {
+        var antallKall = new AtomicInteger();
+
+        minne.hentEllerSlåOpp(Oppslag.PERSON_FRA_IDENT, IDENT, Ytelsetype.PLEIEPENGER_SYKT_BARN, antallKall::incrementAndGet);
+        minne.hentEllerSlåOpp(Oppslag.PERSON_FRA_IDENT, IDENT, Ytelsetype.OMSORGSPENGER, antallKall::incrementAndGet);
+        minne.hentEllerSlåOpp(Oppslag.PERSON_FRA_IDENT, IDENT, Ytelsetype.OMSORGSPENGER, antallKall::incrementAndGet);
+
+        assertThat(antallKall.get()).isEqualTo(2);
+    }
+
+    @Test
+    void feilet_oppslag_skal_ikke_huskes() {
+        assertThrows(IllegalStateException.class, () -> minne.hentEllerSlåOpp(Oppslag.PERSON_FRA_IDENT, IDENT, () -> {
+            throw new IllegalStateException("PDL nede");
+        }));
+
+        assertThat(minne.hentEllerSlåOpp(Oppslag.PERSON_FRA_IDENT, IDENT, () -> "person")).isEqualTo("person");
+    }
+
+    private static void vent(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,11 +3,15 @@ package no.nav.familie.inntektsmelding.integrasjoner.person;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,7 +22,10 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import no.nav.familie.inntektsmelding.koder.Ytelsetype;
+import no.nav.familie.inntektsmelding.typer.entitet.AktørIdEntitet;
 import no.nav.pdl.Foedselsdato;
+import no.nav.pdl.IdentInformasjon;
+import no.nav.pdl.Identliste;
 import no.nav.pdl.Navn;
 import no.nav.pdl.Person;
 import no.nav.pdl.Telefonnummer;
@@ -77,6 +84,79 @@ class PersonTjenesteTest {
         assertEquals("4781549300", person.telefonnummer());
     }
 
+    @Test
+    void hentPersonFraIdent_skal_kun_slå_opp_én_gang_per_kontekst() {
+        var pdlPerson = new Person();
+        var pdlNavn = new Navn();
+        pdlNavn.setFornavn("fornavn");
+        pdlNavn.setEtternavn("etternavn");
+        pdlPerson.setNavn(List.of(pdlNavn));
+        pdlPerson.setTelefonnummer(List.of());
+        pdlPerson.setFoedselsdato(List.of());
+
+        var kontekst = RequestKontekst.forRequest("11839798115", null, IdentType.EksternBruker, null, null, new HashSet<>());
+        when(KontekstHolder.harKontekst()).thenReturn(true);
+        when(KontekstHolder.getKontekst()).thenReturn(kontekst);
+        when(pdlKlientMock.hentAktørIdForPersonIdent("11839798115", true)).thenReturn(Optional.of("1234567891234"));
+        when(pdlKlientMock.hentPerson(any(), any(), any())).thenReturn(pdlPerson);
+
+        var ident = PersonIdent.fra("11839798115");
+        var første = personTjeneste.hentPersonFraIdent(ident, Ytelsetype.OMSORGSPENGER);
+        var andre = personTjeneste.hentPersonFraIdent(ident, Ytelsetype.OMSORGSPENGER);
+
+        assertEquals(første, andre);
+        verify(pdlKlientMock, times(1)).hentPerson(any(), any(), any());
+        verify(pdlKlientMock, times(1)).hentAktørIdForPersonIdent(any(), anyBoolean());
+    }
+
+    @Test
+    void hentPersonFraIdent_skal_slå_opp_på_nytt_i_ny_kontekst() {
+        var pdlPerson = new Person();
+        var pdlNavn = new Navn();
+        pdlNavn.setFornavn("fornavn");
+        pdlNavn.setEtternavn("etternavn");
+        pdlPerson.setNavn(List.of(pdlNavn));
+        pdlPerson.setTelefonnummer(List.of());
+        pdlPerson.setFoedselsdato(List.of());
+
+        when(KontekstHolder.harKontekst()).thenReturn(true);
+        when(KontekstHolder.getKontekst()).thenReturn(
+            RequestKontekst.forRequest("11839798115", null, IdentType.EksternBruker, null, null, new HashSet<>()));
+        when(pdlKlientMock.hentPerson(any(), any(), any())).thenReturn(pdlPerson);
+
+        var ident = PersonIdent.fra("11839798115");
+        personTjeneste.hentPersonFraIdent(ident, Ytelsetype.OMSORGSPENGER);
+
+        when(KontekstHolder.getKontekst()).thenReturn(
+            RequestKontekst.forRequest("11839798115", null, IdentType.EksternBruker, null, null, new HashSet<>()));
+        personTjeneste.hentPersonFraIdent(ident, Ytelsetype.OMSORGSPENGER);
+
+        verify(pdlKlientMock, times(2)).hentPerson(any(), any(), any());
+    }
+
+    @Test
+    void finnPersonIdentForAktørId_skal_bruke_cache_på_tvers_av_kontekster() {
+        var identInformasjon = new IdentInformasjon();
+        identInformasjon.setIdent("11839798115");
+        var identliste = new Identliste();
+        identliste.setIdenter(List.of(identInformasjon));
+        when(pdlKlientMock.hentIdenter(any(), any())).thenReturn(identliste);
+
+        var aktørId = new AktørIdEntitet("1234567891234");
+        when(KontekstHolder.harKontekst()).thenReturn(true);
+        when(KontekstHolder.getKontekst()).thenReturn(
+            RequestKontekst.forRequest("11839798115", null, IdentType.EksternBruker, null, null, new HashSet<>()));
+        var første = personTjeneste.finnPersonIdentForAktørId(aktørId);
+
+        when(KontekstHolder.getKontekst()).thenReturn(
+            RequestKontekst.forRequest("11839798115", null, IdentType.EksternBruker, null, null, new HashSet<>()));
+        var andre = personTjeneste.finnPersonIdentForAktørId(aktørId);
+
+        assertEquals(PersonIdent.fra("11839798115"), første);
+        assertEquals(første, andre);
+        verify(pdlKlientMock, times(1)).hentIdenter(any(), any());
+    }
+
     @Test
     void hentInnloggetPerson_skal_kaste_exception_om_man_ikke_har_kontekst() {
         var ytelseType = Ytelsetype.OMSORGSPENGER;
@@ -1,10 +1,15 @@
 package no.nav.familie.inntektsmelding.pip;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Set;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -69,4 +74,22 @@ class AltinnTilgangTjenesteTest {
     assertFalse(manglerTilgang);
     verify(altinnKlient).harTilgangTilBedriften(orgNr);
   }
+
+  @Test
+  void filtrerTilgang_skal_returnere_bedrifter_med_tilgang_med_ett_oppslag() {
+    when(altinnKlient.hentOrganisasjonerMedTilgang()).thenReturn(Set.of("123456789", "987654321"));
+
+    var medTilgang = altinnTilgangTjeneste.filtrerTilgang(List.of("123456789", "111111111", "987654321"));
+
+    assertThat(medTilgang).containsExactlyInAnyOrder("123456789", "987654321");
+    verify(altinnKlient).hentOrganisasjonerMedTilgang();
+  }
+
+  @Test
+  void filtrerTilgang_skal_ikke_kalle_altinn_uten_bedrifter() {
+    var medTilgang = altinnTilgangTjeneste.filtrerTilgang(List.of());
+
+    assertThat(medTilgang).isEmpty();
+    verifyNoInteractions(altinnKlient);
+  }
 }
@@ -0,0 +1,70 @@
+package no.nav.familie.inntektsmelding.pip;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import no.nav.familie.inntektsmelding.forespørsel.modell.ForespørselRepository;
+import no.nav.familie.inntektsmelding.imdialog.modell.InntektsmeldingRepository;
+import no.nav.familie.inntektsmelding.typer.dto.OrganisasjonsnummerDto;
+
+@ExtendWith(MockitoExtension.class)
+class PipTjenesteTest {
+
+    @Mock
+    private ForespørselRepository forespørselRepository;
+    @Mock
+    private InntektsmeldingRepository inntektsmeldingRepository;
+
+    private PipTjeneste pipTjeneste;
+
+    @BeforeEach
+    void setUp() {
+        pipTjeneste = new PipTjeneste(forespørselRepository, inntektsmeldingRepository);
+    }
+
+    @Test
+    void skal_huske_organisasjonsnummer_for_forespørsel() {
+        var uuid = UUID.randomUUID();
+        when(forespørselRepository.hentOrganisasjonsnummer(uuid)).thenReturn(Optional.of("999999999"));
+
+        assertThat(pipTjeneste.hentOrganisasjonsnummerFor(uuid)).isEqualTo(new OrganisasjonsnummerDto("999999999"));
+        assertThat(pipTjeneste.hentOrganisasjonsnummerFor(uuid)).isEqualTo(new OrganisasjonsnummerDto("999999999"));
+
+        verify(forespørselRepository, times(1)).hentOrganisasjonsnummer(uuid);
+        verifyNoInteractions(inntektsmeldingRepository);
+    }
+
+    @Test
+    void skal_huske_organisasjonsnummer_for_inntektsmelding() {
+        when(inntektsmeldingRepository.hentArbeidsgiverIdent(1L)).thenReturn(Optional.of("999999999"));
+
+        assertThat(pipTjeneste.hentOrganisasjonsnummerFor(1L)).isEqualTo(new OrganisasjonsnummerDto("999999999"));
+        assertThat(pipTjeneste.hentOrganisasjonsnummerFor(1L)).isEqualTo(new OrganisasjonsnummerDto("999999999"));
+
+        verify(inntektsmeldingRepository, times(1)).hentArbeidsgiverIdent(1L);
+        verifyNoInteractions(forespørselRepository);
+    }
+
+    @Test
+    void skal_ikke_huske_at_forespørsel_mangler() {
+        var uuid = UUID.randomUUID();
+        when(forespørselRepository.hentOrganisasjonsnummer(uuid)).thenReturn(Optional.empty(), Optional.of("999999999"));
+
+        assertThat(pipTjeneste.hentOrganisasjonsnummerFor(uuid)).isNull();
+        assertThat(pipTjeneste.hentOrganisasjonsnummerFor(uuid)).isEqualTo(new OrganisasjonsnummerDto("999999999"));
+
+        verify(forespørselRepository, times(2)).hentOrganisasjonsnummer(uuid);
+    }
+}
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,7 +42,7 @@ class ArbeidstakerTjenesteTest {
         when(arbeidsforholdTjenesteMock.hentArbeidsforhold(any(), any())).thenReturn(
             List.of(new ArbeidsforholdDto("000000000", "111111111"))
         );
-        when(altinnTilgangTjenesteMock.harTilgangTilBedriften(any())).thenReturn(true);
+        when(altinnTilgangTjenesteMock.filtrerTilgang(List.of("000000000"))).thenReturn(Set.of("000000000"));
 
         var resultat = arbeidstakerTjeneste.finnArbeidsforholdInnsenderHarTilgangTil(TILFELDIG_PERSON_IDENT, førsteFraværsdag);
         assertThat(resultat).isNotNull();
@@ -57,7 +58,7 @@ class ArbeidstakerTjenesteTest {
         var førsteFraværsdag = LocalDate.now();
         when(arbeidsforholdTjenesteMock.hentArbeidsforhold(any(), any())).thenReturn(
             List.of(new ArbeidsforholdDto("00000000", "123456789")));
-        when(altinnTilgangTjenesteMock.harTilgangTilBedriften(any())).thenReturn(true);
+        when(altinnTilgangTjenesteMock.filtrerTilgang(List.of("00000000"))).thenReturn(Set.of("00000000"));
 
         var resultat = arbeidstakerTjeneste.finnArbeidsforholdInnsenderHarTilgangTil(TILFELDIG_PERSON_IDENT, førsteFraværsdag);
 
@@ -77,8 +78,7 @@ class ArbeidstakerTjenesteTest {
                 new ArbeidsforholdDto("00000001", "123456789")
             )
         );
-        when(altinnTilgangTjenesteMock.harTilgangTilBedriften("00000000")).thenReturn(false);
-        when(altinnTilgangTjenesteMock.harTilgangTilBedriften("00000001")).thenReturn(true);
+        when(altinnTilgangTjenesteMock.filtrerTilgang(List.of("00000000", "00000001"))).thenReturn(Set.of("00000001"));
 
         var resultat = arbeidstakerTjeneste.finnArbeidsforholdInnsenderHarTilgangTil(TILFELDIG_PERSON_IDENT, førsteFraværsdag);
 
@@ -0,0 +1,62 @@
+package no.nav.familie.inntektsmelding.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import no.nav.vedtak.exception.IntegrasjonException;
+import no.nav.vedtak.sikkerhet.kontekst.IdentType;
+import no.nav.vedtak.sikkerhet.kontekst.KontekstHolder;
+import no.nav.vedtak.sikkerhet.kontekst.RequestKontekst;
+import no.nav.vedtak.sikkerhet.oidc.config.OpenIDProvider;
+import no.nav.vedtak.sikkerhet.oidc.token.OpenIDToken;
+import no.nav.vedtak.sikkerhet.oidc.token.TokenString;
+
+class ParallellKjøringTest {
+
+    @AfterEach
+    void tearDown() {
+        KontekstHolder.fjernKontekst();
+    }
+
+    @Test
+    void skal_videreføre_kontekst_til_oppgaven() {
+        KontekstHolder.setKontekst(RequestKontekst.forRequest("12345678910", "kompakt", IdentType.EksternBruker,
+            new OpenIDToken(OpenIDProvider.TOKENX, new TokenString("token")), UUID.randomUUID(), Set.of()));
+
+        var oppgave = ParallellKjøring.start(() -> KontekstHolder.getKontekst().getUid(), Duration.ofSeconds(5));
+
+        assertThat(ParallellKjøring.hent(oppgave, "test")).isEqualTo("12345678910");
+    }
+
+    @Test
+    void skal_kaste_feil_fra_oppgaven_uten_innpakking() {
+        var oppgave = ParallellKjøring.start(() -> {
+            throw new IllegalStateException("feil");
+        }, Duration.ofSeconds(5));
+
+        var ex = assertThrows(IllegalStateException.class, () -> ParallellKjøring.hent(oppgave, "test"));
+        assertThat(ex.getMessage()).isEqualTo("feil");
+    }
+
+    @Test
+    void skal_gi_integrasjonsfeil_ved_tidsavbrudd() {
+        var oppgave = ParallellKjøring.start(() -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "for sent";
+        }, Duration.ofMillis(10));
+
+        var ex = assertThrows(IntegrasjonException.class, () -> ParallellKjøring.hent(oppgave, "test"));
+        assertThat(ex.getMessage()).contains("Tidsavbrudd ved test");
+    }
+}